@@ -1,21 +1,38 @@
 package com.stemlen;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.stemlen.jwt.JwtHelper;
+import com.stemlen.utility.BoundedPasswordEncoder;
+import com.stemlen.utility.ImageThumbnailer;
 
 
 @Configuration
 public class MyConfig {
 
+	 // BCrypt on a bounded pool; sheds load with 503 instead of tying up request threads
 	 @Bean
-	    public PasswordEncoder passwordEncoder() {
-	        return new BCryptPasswordEncoder();
+	    public BoundedPasswordEncoder passwordEncoder(
+	            @Value("${stemlen.password.bcrypt-strength:10}") int strength,
+	            @Value("${stemlen.password.hash-threads:0}") int threads,
+	            @Value("${stemlen.password.hash-queue-capacity:64}") int queueCapacity,
+	            @Value("${stemlen.password.hash-wait-ms:5000}") long waitMillis) {
+	        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, waitMillis);
+	    }
+	    
+	    // Thumbnails are rendered on a bounded pool; oversized or flooding uploads get 413/503
+	    @Bean
+	    public ImageThumbnailer imageThumbnailer(
+	            @Value("${stemlen.media.max-pixels:25000000}") long maxPixels,
+	            @Value("${stemlen.media.threads:2}") int threads,
+	            @Value("${stemlen.media.queue-capacity:16}") int queueCapacity,
+	            @Value("${stemlen.media.wait-ms:10000}") long waitMillis) {
+	        return new ImageThumbnailer(maxPixels, threads, queueCapacity, waitMillis);
 	    }
 	    
 	    @Bean
@@ -15,6 +15,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import com.stemlen.jwt.JwtAuthEntryPoint;
 import com.stemlen.jwt.JwtAuthFilter;
 import com.stemlen.jwt.OAuth2SuccessHandler;
+import com.stemlen.ratelimit.RateLimitFilter;
 
 import java.util.List;
 
@@ -31,6 +32,9 @@ public class SecurityConfig {
     @Autowired
     private OAuth2SuccessHandler oauth2SuccessHandler; // Inject the OAuth2 success handler
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
@@ -47,8 +51,9 @@ public class SecurityConfig {
                     "/users/sendOtp/**",
                     "/oauth2/**" 
                 ).permitAll()
-                .requestMatchers("/jobs/getAll","/jobs/get/{id}").permitAll() // Public access
+                .requestMatchers("/jobs/getAll","/jobs/get/{id}","/jobs/feed","/jobs/search").permitAll() // Public access
                 .requestMatchers("/mentors/available", "/mentors/getAll").permitAll() // Public mentor endpoints
+                .requestMatchers("/media/*").permitAll() // Content-addressed images, loaded by <img> tags without a token
                 .requestMatchers(
                     "/packages/active", 
                     "/packages/mentor/*/active",
@@ -65,6 +70,8 @@ public class SecurityConfig {
                 .successHandler(oauth2SuccessHandler) // Use the custom OAuth2 success handler
             );
 
+        // Rate limiting runs first so throttled requests never reach JWT parsing or BCrypt
+        http.addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
@@ -74,7 +81,7 @@ public class SecurityConfig {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(List.of("http://localhost:3000","https://stemlen.com"));
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
         config.setAllowCredentials(true);
         source.registerCorsConfiguration("/**", config);
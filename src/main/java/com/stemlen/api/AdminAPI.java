@@ -1,11 +1,18 @@
 package com.stemlen.api;
 
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.stemlen.dto.ResponseDTO;
+import com.stemlen.ratelimit.RateLimitFilter;
+import com.stemlen.utility.BoundedPasswordEncoder;
+import com.stemlen.utility.ImageThumbnailer;
+import com.stemlen.service.EmailOutboxService;
+import com.stemlen.utility.SequenceBlockAllocator;
 import com.stemlen.utility.Utilities;
 
 @RestController
@@ -16,6 +23,21 @@ public class AdminAPI {
     @Autowired
     private Utilities utilities;
 
+    @Autowired
+    private SequenceBlockAllocator sequenceAllocator;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ImageThumbnailer imageThumbnailer;
+
     /**
      * Initialize sequences for the application
      */
@@ -62,6 +84,46 @@ public class AdminAPI {
         }
     }
 
+    /**
+     * Per-key ID block allocation metrics for this node
+     */
+    @GetMapping("/sequence-metrics")
+    public ResponseEntity<Map<String, Map<String, Long>>> getSequenceMetrics() {
+        return new ResponseEntity<>(sequenceAllocator.getMetrics(), HttpStatus.OK);
+    }
+
+    /**
+     * Email outbox queue depth (all nodes) and delivery metrics (this node)
+     */
+    @GetMapping("/email-outbox-metrics")
+    public ResponseEntity<Map<String, Object>> getEmailOutboxMetrics() {
+        return new ResponseEntity<>(emailOutboxService.getMetrics(), HttpStatus.OK);
+    }
+
+    /**
+     * Rate limiter allowed/rejected counts per policy for this node
+     */
+    @GetMapping("/rate-limit-metrics")
+    public ResponseEntity<Map<String, Object>> getRateLimitMetrics() {
+        return new ResponseEntity<>(rateLimitFilter.getMetrics(), HttpStatus.OK);
+    }
+
+    /**
+     * Password hashing pool load and shed counts for this node
+     */
+    @GetMapping("/password-hash-metrics")
+    public ResponseEntity<Map<String, Long>> getPasswordHashMetrics() {
+        return new ResponseEntity<>(passwordEncoder.getMetrics(), HttpStatus.OK);
+    }
+
+    /**
+     * Thumbnail pool load, rejected uploads and shed counts for this node
+     */
+    @GetMapping("/image-processing-metrics")
+    public ResponseEntity<Map<String, Long>> getImageProcessingMetrics() {
+        return new ResponseEntity<>(imageThumbnailer.getMetrics(), HttpStatus.OK);
+    }
+
     /**
      * Health check endpoint
      */
@@ -8,7 +8,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -29,9 +29,6 @@ import com.stemlen.jwt.JwtHelper;
 @RequestMapping("/auth")
 public class AuthAPI {
 
-    @Autowired
-    private UserDetailsService userDetailsService;
-
     @Autowired
     private AuthenticationManager authenticationManager;
 
@@ -40,13 +37,11 @@ public class AuthAPI {
 
     @PostMapping("/login")
     public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthRequest request) {
-        // Authenticate the user
-        authenticationManager.authenticate(
+        // Authenticate the user; the principal is the user details already loaded for the check
+        Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
-
-        // Load user details
-        final CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(request.getEmail());
+        final CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
         if (!userDetails.isEmailVerified()) {
             Map<String, String> response = new HashMap<>();
@@ -1,23 +1,35 @@
 package com.stemlen.api;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.stemlen.dto.ApplicantDTO;
 import com.stemlen.dto.Application;
+import com.stemlen.dto.CursorPageDTO;
 import com.stemlen.dto.JobDTO;
-import com.stemlen.dto.ResponseDTO;
+import com.stemlen.dto.JobSearchResultDTO;
+import com.stemlen.dto.JobStatus;
+import com.stemlen.dto.JobSummaryDTO;
 import com.stemlen.exception.PortalException;
 import com.stemlen.service.JobService;
 
@@ -41,16 +53,62 @@ public class JobAPI {
 		 return new ResponseEntity<>(jobService.getAllJobs(),HttpStatus.OK);
 	}
 	
+	// Public, paginated job feed (newest first) with projected job cards
+	@GetMapping("/feed")
+	public ResponseEntity<CursorPageDTO<JobSummaryDTO>>getJobFeed(
+			@RequestParam(required = false) JobStatus jobStatus,
+			@RequestParam(required = false) List<String> jobType,
+			@RequestParam(required = false) List<String> location,
+			@RequestParam(required = false) List<String> experience,
+			@RequestParam(required = false) List<String> skills,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) throws PortalException{
+		 return new ResponseEntity<>(jobService.getJobFeed(jobStatus, jobType, location, experience, skills, cursor, limit),HttpStatus.OK);
+	}
+	
+	// Public full-text search over active jobs, ranked by relevance, with facet counts
+	@GetMapping("/search")
+	public ResponseEntity<JobSearchResultDTO>searchJobs(
+			@RequestParam(required = false) String q,
+			@RequestParam(required = false) List<String> jobType,
+			@RequestParam(required = false) List<String> location,
+			@RequestParam(required = false) List<String> experience,
+			@RequestParam(required = false) List<String> skills,
+			@RequestParam(required = false) Integer offset,
+			@RequestParam(required = false) Integer limit){
+		 return new ResponseEntity<>(jobService.searchJobs(q, jobType, location, experience, skills, offset, limit),HttpStatus.OK);
+	}
+	
 	@GetMapping("/get/{id}")
 	public ResponseEntity<JobDTO>getJob(@PathVariable Long id) throws PortalException{
 		 return new ResponseEntity<>(jobService.getJob(id),HttpStatus.OK);
 	}
 	
 	@PostMapping("/apply/{id}")
-	public ResponseEntity<ResponseDTO>applyJob(@PathVariable Long id,@RequestBody ApplicantDTO applicantDTO)
+	public ResponseEntity<ApplicantDTO>applyJob(@PathVariable Long id,@RequestBody ApplicantDTO applicantDTO)
 			throws PortalException{
-		jobService.applyJob(id, applicantDTO);
-		 return new ResponseEntity<>(new ResponseDTO("Applied Successfully"),HttpStatus.OK);
+		 return new ResponseEntity<>(jobService.applyJob(id, applicantDTO),HttpStatus.OK);
+	}
+	
+	// Multipart apply: the resume part is streamed to GridFS instead of travelling as Base64 JSON
+	@PostMapping(value="/apply/{id}", consumes=MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<ApplicantDTO>applyJobWithResume(@PathVariable Long id,
+			@RequestPart("application") ApplicantDTO applicantDTO,
+			@RequestPart(value="resume", required=false) MultipartFile resume) throws PortalException, IOException{
+		if(resume==null || resume.isEmpty()) {
+			return new ResponseEntity<>(jobService.applyJob(id, applicantDTO),HttpStatus.OK);
+		}
+		try(InputStream in=resume.getInputStream()) {
+			return new ResponseEntity<>(jobService.applyJob(id, applicantDTO, in),HttpStatus.OK);
+		}
+	}
+	
+	@PutMapping(value="/{id}/icon", consumes=MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<JobDTO>uploadIcon(@PathVariable Long id, @RequestPart("file") MultipartFile file)
+			throws PortalException, IOException{
+		try(InputStream in=file.getInputStream()) {
+			return new ResponseEntity<>(jobService.uploadIcon(id, in),HttpStatus.OK);
+		}
 	}
 	@GetMapping("/postedBy/{id}")
 	public ResponseEntity<List<JobDTO>>getJobsPostedBy(@PathVariable Long id) throws PortalException{
@@ -58,10 +116,24 @@ public class JobAPI {
 	}
 	
 	@PostMapping("/changeAppStatus")
-	public ResponseEntity<ResponseDTO>changeAppStatus(@RequestBody Application application)
+	public ResponseEntity<ApplicantDTO>changeAppStatus(@RequestBody Application application)
 			throws PortalException{
-		jobService.changeAppStatus(application);
-		 return new ResponseEntity<>(new ResponseDTO("Application Status Changed Successfully"),HttpStatus.OK);
+		 return new ResponseEntity<>(jobService.changeAppStatus(application),HttpStatus.OK);
+	}
+	
+	@GetMapping("/applications/applicant/{applicantId}")
+	public ResponseEntity<List<ApplicantDTO>>getApplicationsByApplicant(@PathVariable Long applicantId) throws PortalException{
+		 return new ResponseEntity<>(jobService.getApplicationsByApplicant(applicantId),HttpStatus.OK);
+	}
+	
+	// Resumes are no longer inlined in job responses; ApplicantDTO.resumeUrl points here
+	@GetMapping("/applications/{applicationId}/resume")
+	public ResponseEntity<InputStreamResource>getResume(@PathVariable Long applicationId) throws PortalException, IOException{
+		GridFsResource resume=jobService.getResume(applicationId);
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(resume.getContentType()))
+				.contentLength(resume.contentLength())
+				.body(new InputStreamResource(resume.getInputStream()));
 	}
 	
 	
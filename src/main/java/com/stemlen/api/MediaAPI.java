@@ -0,0 +1,103 @@
+package com.stemlen.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.stemlen.exception.PortalException;
+import com.stemlen.service.MediaStorage;
+import com.stemlen.utility.ImageThumbnailer;
+
+@RestController
+@CrossOrigin
+@RequestMapping("/media")
+public class MediaAPI {
+
+    // The URL contains the content hash, so a response can never go stale
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    // ?size= picks one of the generated thumbnails (see ImageThumbnailer.SIZES)
+    @GetMapping("/{hash}")
+    public ResponseEntity<InputStreamResource> getMedia(@PathVariable String hash,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            WebRequest request) throws PortalException, IOException {
+        if (size != null && !ImageThumbnailer.SIZES.contains(size)) {
+            throw new PortalException("INVALID_MEDIA_SIZE", HttpStatus.BAD_REQUEST);
+        }
+        String etag = size != null ? hash + "-" + size : hash;
+        if (request.checkNotModified(etag)) {
+            return null; // 304, checked before touching GridFS
+        }
+        GridFsResource file = size != null ? mediaStorage.loadVariant(hash, size) : mediaStorage.load(hash);
+        if (file == null) {
+            throw new PortalException("MEDIA_NOT_FOUND");
+        }
+        long length = file.contentLength();
+        MediaType type = file.getContentType() != null
+                ? MediaType.parseMediaType(file.getContentType()) : MediaType.APPLICATION_OCTET_STREAM;
+
+        // Single byte ranges only; anything else gets the whole file, which RFC 9110 allows
+        List<HttpRange> ranges = parseRanges(range);
+        if (ranges.size() != 1) {
+            return mediaHeaders(ResponseEntity.ok(), etag, type)
+                    .contentLength(length)
+                    .body(new InputStreamResource(file.getInputStream()));
+        }
+        long start = ranges.get(0).getRangeStart(length);
+        long end = ranges.get(0).getRangeEnd(length);
+        if (start >= length || start > end) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                    .build();
+        }
+        byte[] part;
+        try (InputStream in = file.getInputStream()) {
+            in.skipNBytes(start);
+            part = in.readNBytes((int) (end - start + 1));
+        }
+        return mediaHeaders(ResponseEntity.status(HttpStatus.PARTIAL_CONTENT), etag, type)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length)
+                .contentLength(part.length)
+                .body(new InputStreamResource(new ByteArrayInputStream(part)));
+    }
+
+    private static ResponseEntity.BodyBuilder mediaHeaders(ResponseEntity.BodyBuilder builder, String etag, MediaType type) {
+        return builder.eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(type);
+    }
+
+    private static List<HttpRange> parseRanges(String range) {
+        if (range == null || range.isBlank()) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
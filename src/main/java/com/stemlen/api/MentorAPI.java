@@ -1,13 +1,18 @@
 package com.stemlen.api;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.stemlen.dto.MentorDTO;
 import com.stemlen.dto.MentorshipRequestDTO;
@@ -40,6 +45,31 @@ public class MentorAPI {
         return new ResponseEntity<>(mentorService.updateMentor(mentorDTO), HttpStatus.OK);
     }
     
+    // Partial update: sparse JSON / merge patch, only the sent fields are written
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<MentorDTO> patchMentor(@PathVariable Long id, @RequestBody Map<String, Object> patch)
+            throws PortalException {
+        return new ResponseEntity<>(mentorService.patchMentor(id, patch), HttpStatus.OK);
+    }
+    
+    // Upload mentor picture (multipart, streamed to GridFS)
+    @PutMapping(value = "/{id}/picture", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MentorDTO> uploadPicture(@PathVariable Long id, @RequestPart("file") MultipartFile file)
+            throws PortalException, IOException {
+        try (InputStream in = file.getInputStream()) {
+            return new ResponseEntity<>(mentorService.uploadPicture(id, in), HttpStatus.OK);
+        }
+    }
+    
+    // Upload mentor background image (multipart, streamed to GridFS)
+    @PutMapping(value = "/{id}/background", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MentorDTO> uploadBackground(@PathVariable Long id, @RequestPart("file") MultipartFile file)
+            throws PortalException, IOException {
+        try (InputStream in = file.getInputStream()) {
+            return new ResponseEntity<>(mentorService.uploadBackground(id, in), HttpStatus.OK);
+        }
+    }
+    
     // Get mentor by ID
     @GetMapping("/get/{id}")
     public ResponseEntity<MentorDTO> getMentor(@PathVariable Long id) throws PortalException {
@@ -127,22 +157,20 @@ public class MentorAPI {
     
     // Request mentorship session
     @PostMapping("/requestSession/{mentorId}")
-    public ResponseEntity<ResponseDTO> requestMentorshipSession(
+    public ResponseEntity<MentorshipRequestDTO> requestMentorshipSession(
             @PathVariable Long mentorId, 
             @RequestBody @Valid MentorshipRequestDTO requestDTO) throws PortalException {
-        mentorService.requestMentorshipSession(mentorId, requestDTO);
-        return new ResponseEntity<>(new ResponseDTO("Mentorship session requested successfully"), HttpStatus.OK);
+        return new ResponseEntity<>(mentorService.requestMentorshipSession(mentorId, requestDTO), HttpStatus.OK);
     }
     
     // Update mentorship request status
     @PutMapping("/updateRequestStatus/{mentorId}/{requestId}")
-    public ResponseEntity<ResponseDTO> updateMentorshipRequestStatus(
+    public ResponseEntity<MentorshipRequestDTO> updateMentorshipRequestStatus(
             @PathVariable Long mentorId,
             @PathVariable Long requestId,
             @RequestParam SessionStatus status,
             @RequestParam(required = false) LocalDateTime scheduledTime) throws PortalException {
-        mentorService.updateMentorshipRequestStatus(mentorId, requestId, status, scheduledTime);
-        return new ResponseEntity<>(new ResponseDTO("Mentorship request status updated successfully"), HttpStatus.OK);
+        return new ResponseEntity<>(mentorService.updateMentorshipRequestStatus(mentorId, requestId, status, scheduledTime), HttpStatus.OK);
     }
     
     // Validate mentor data integrity (check for orphaned references)
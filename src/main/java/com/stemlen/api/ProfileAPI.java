@@ -1,22 +1,37 @@
 package com.stemlen.api;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.stemlen.dto.AvatarDTO;
 import com.stemlen.dto.ProfileDTO;
 import com.stemlen.exception.PortalException;
 import com.stemlen.service.ProfileService;
+import com.stemlen.utility.Utilities;
 
 @RestController
 @CrossOrigin
@@ -36,8 +51,59 @@ public class ProfileAPI {
         return new ResponseEntity<>(profileService.getAllProfiles(), HttpStatus.OK); 
     }
 
+    // Batch avatar resolution for listings that only carry profile IDs and avatar hashes
+    @GetMapping("/avatars")
+    public ResponseEntity<List<AvatarDTO>> getAvatars(@RequestParam List<Long> ids, WebRequest request) throws PortalException {
+        List<AvatarDTO> avatars = profileService.getAvatars(ids);
+        String etag = Utilities.sha256Hex(avatars.stream()
+                .map(avatar -> avatar.getProfileId() + ":" + avatar.getHash())
+                .collect(Collectors.joining(",")).getBytes());
+        if (request.checkNotModified(etag)) {
+            return null; // 304, the client already has these images
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+                .body(avatars);
+    }
+
+    // Single avatar: redirects to its immutable /media URL; only the redirect itself expires
+    @GetMapping("/{id}/avatar")
+    public ResponseEntity<Void> getAvatar(@PathVariable Long id) throws PortalException {
+        AvatarDTO avatar = profileService.getAvatar(id);
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(avatar.getUrl()))
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+                .build();
+    }
+
     @PutMapping("/update")
     public ResponseEntity<ProfileDTO> updateProfile(@RequestBody ProfileDTO profileDTO) throws PortalException {
         return new ResponseEntity<>(profileService.updateProfile(profileDTO), HttpStatus.OK);
     }
+
+    // Partial update: sparse JSON / merge patch, only the sent fields are written and images are
+    // only decoded when present
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<ProfileDTO> patchProfile(@PathVariable Long id, @RequestBody Map<String, Object> patch)
+            throws PortalException {
+        return new ResponseEntity<>(profileService.patchProfile(id, patch), HttpStatus.OK);
+    }
+
+    // Multipart image uploads, streamed to GridFS instead of sent as Base64 in the profile JSON
+    @PutMapping(value = "/{id}/picture", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProfileDTO> uploadPicture(@PathVariable Long id, @RequestPart("file") MultipartFile file)
+            throws PortalException, IOException {
+        try (InputStream in = file.getInputStream()) {
+            return new ResponseEntity<>(profileService.uploadPicture(id, in), HttpStatus.OK);
+        }
+    }
+
+    @PutMapping(value = "/{id}/background", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProfileDTO> uploadBackground(@PathVariable Long id, @RequestPart("file") MultipartFile file)
+            throws PortalException, IOException {
+        try (InputStream in = file.getInputStream()) {
+            return new ResponseEntity<>(profileService.uploadBackground(id, in), HttpStatus.OK);
+        }
+    }
 }
@@ -13,19 +13,14 @@ import com.stemlen.dto.ResponseDTO;
 import com.stemlen.dto.TrialSessionDTO;
 import com.stemlen.dto.TrialSessionStatus;
 import com.stemlen.dto.BulkTrialSessionDTO;
+import com.stemlen.dto.BulkTrialSessionResultDTO;
 import com.stemlen.dto.AvailabilityTemplateDTO;
+import com.stemlen.dto.CursorPageDTO;
+import com.stemlen.dto.TrialSessionSummaryDTO;
 import com.stemlen.exception.PortalException;
 import com.stemlen.service.TrialSessionService;
-import com.stemlen.repository.UserRepository;
-import com.stemlen.repository.MentorRepository;
-import com.stemlen.entity.User;
-import com.stemlen.entity.Mentor;
-import com.stemlen.jwt.JwtHelper;
+import com.stemlen.jwt.CallerContext;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -37,82 +32,13 @@ public class TrialSessionAPI {
     @Autowired
     private TrialSessionService trialSessionService;
     
-    @Autowired
-    private JwtHelper jwtHelper;
-    
-    @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private MentorRepository mentorRepository;
-    
-    /**
-     * 🔒 SECURITY: Extract user ID from JWT token
-     * This method ensures that we know who is making the request
-     */
-    private Long getUserIdFromRequest(HttpServletRequest request) throws PortalException {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            try {
-                // Extract user ID from JWT token using claims
-                Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(Keys.hmacShaKeyFor("your-256-bit-secret-your-256-bit-secret".getBytes()))
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-                
-                Object idClaim = claims.get("id");
-                if (idClaim != null) {
-                    return Long.valueOf(idClaim.toString());
-                }
-                throw new PortalException("USER_ID_NOT_FOUND: No user ID in token");
-            } catch (Exception e) {
-                throw new PortalException("INVALID_TOKEN: Unable to extract user ID from token - " + e.getMessage());
-            }
-        }
-        throw new PortalException("UNAUTHORIZED_ACCESS: No valid authorization token provided");
-    }
-    
-    /**
-     * 🔗 HELPER: Resolve mentor ID from a user.
-     * Prefers using profileId if it points to an existing mentor, otherwise
-     * falls back to looking up Mentor by email. This handles cases where
-     * mentors use sequence-based IDs independent of user IDs.
-     */
-    private Long getMentorIdFromUserId(Long userId) throws PortalException {
-        try {
-            User user = userRepository.findById(userId)
-                .orElseThrow(() -> new PortalException("USER_NOT_FOUND: User with ID " + userId + " does not exist"));
-
-            // 1) If profileId exists and a mentor with that ID exists, use it
-            if (user.getProfileId() != null && mentorRepository.existsById(user.getProfileId())) {
-                return user.getProfileId();
-            }
-
-            // 2) Otherwise, try to resolve mentor by email
-            if (user.getEmail() != null) {
-                Mentor mentor = mentorRepository.findByEmail(user.getEmail())
-                    .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND: No mentor profile found for user email " + user.getEmail()));
-                return mentor.getId();
-            }
-
-            throw new PortalException("MENTOR_PROFILE_NOT_FOUND: User " + userId + " does not have a mentor profile. Please create a mentor profile first.");
-        } catch (PortalException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new PortalException("MENTOR_VALIDATION_ERROR: Unable to validate mentor for user " + userId + " - " + e.getMessage());
-        }
-    }
-    
     // 🔒 CREATE: Only authenticated mentors can create trial session slots
     @PostMapping("/create-slot")
     public ResponseEntity<TrialSessionDTO> createAvailableSlot(
             @RequestBody TrialSessionDTO trialSessionDTO,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         // 🔒 FORCE OWNERSHIP: Set mentorId to the authenticated user's profileId
         trialSessionDTO.setMentorId(mentorId);
@@ -128,10 +54,9 @@ public class TrialSessionAPI {
     public ResponseEntity<List<TrialSessionDTO>> createMultipleAvailableSlots(
             @RequestBody List<LocalDateTime> dateTimeSlots,
             @RequestParam(defaultValue = "30") Integer durationMinutes,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         // 🔒 OWNERSHIP: Use authenticated user's profileId as mentor
         return new ResponseEntity<>(
@@ -142,12 +67,11 @@ public class TrialSessionAPI {
 
     // 🆕 ENHANCED BULK OPERATIONS
     @PostMapping("/create-bulk-sessions")
-    public ResponseEntity<List<TrialSessionDTO>> createBulkTrialSessions(
+    public ResponseEntity<BulkTrialSessionResultDTO> createBulkTrialSessions(
             @RequestBody @Valid BulkTrialSessionDTO bulkRequest,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         return new ResponseEntity<>(
             trialSessionService.createBulkTrialSessions(bulkRequest, mentorId), 
@@ -156,14 +80,13 @@ public class TrialSessionAPI {
     }
 
     @PostMapping("/create-recurring-sessions")
-    public ResponseEntity<List<TrialSessionDTO>> createRecurringTrialSessions(
+    public ResponseEntity<BulkTrialSessionResultDTO> createRecurringTrialSessions(
             @RequestBody @Valid TrialSessionDTO baseSession,
             @RequestParam String recurringPattern,
             @RequestParam String endDate,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         LocalDateTime recurringEndDate = LocalDateTime.parse(endDate);
         baseSession.setMentorId(mentorId); // 🔒 FORCE OWNERSHIP
@@ -178,10 +101,9 @@ public class TrialSessionAPI {
     @PostMapping("/availability-templates")
     public ResponseEntity<AvailabilityTemplateDTO> saveAvailabilityTemplate(
             @RequestBody @Valid AvailabilityTemplateDTO template,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         return new ResponseEntity<>(
             trialSessionService.saveAvailabilityTemplate(template, mentorId), 
@@ -191,10 +113,9 @@ public class TrialSessionAPI {
 
     @GetMapping("/availability-templates")
     public ResponseEntity<List<AvailabilityTemplateDTO>> getAvailabilityTemplates(
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         return new ResponseEntity<>(
             trialSessionService.getAvailabilityTemplatesByMentor(mentorId), 
@@ -205,10 +126,9 @@ public class TrialSessionAPI {
     @GetMapping("/availability-templates/{templateId}")
     public ResponseEntity<AvailabilityTemplateDTO> getAvailabilityTemplate(
             @PathVariable Long templateId,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         return new ResponseEntity<>(
             trialSessionService.getAvailabilityTemplate(templateId, mentorId), 
@@ -219,10 +139,9 @@ public class TrialSessionAPI {
     @DeleteMapping("/availability-templates/{templateId}")
     public ResponseEntity<ResponseDTO> deleteAvailabilityTemplate(
             @PathVariable Long templateId,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         trialSessionService.deleteAvailabilityTemplate(templateId, mentorId);
         
@@ -233,14 +152,13 @@ public class TrialSessionAPI {
     }
 
     @PostMapping("/apply-template/{templateId}")
-    public ResponseEntity<List<TrialSessionDTO>> applyAvailabilityTemplate(
+    public ResponseEntity<BulkTrialSessionResultDTO> applyAvailabilityTemplate(
             @PathVariable Long templateId,
             @RequestParam String startDate,
             @RequestParam String endDate,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         LocalDateTime start = LocalDateTime.parse(startDate);
         LocalDateTime end = LocalDateTime.parse(endDate);
@@ -251,15 +169,44 @@ public class TrialSessionAPI {
         );
     }
 
+    // PUBLIC READ: Virtual availability computed from the mentor's virtual templates
+    @GetMapping("/mentor/{mentorId}/virtual-availability")
+    public ResponseEntity<List<TrialSessionDTO>> getVirtualAvailability(
+            @PathVariable Long mentorId,
+            @RequestParam String startDate,
+            @RequestParam String endDate) throws PortalException {
+        
+        LocalDateTime start = LocalDateTime.parse(startDate);
+        LocalDateTime end = LocalDateTime.parse(endDate);
+        
+        return new ResponseEntity<>(
+            trialSessionService.getVirtualAvailability(mentorId, start, end), 
+            HttpStatus.OK
+        );
+    }
+    
+    // Book a virtual slot; the session is persisted at this point
+    @PostMapping("/virtual/{virtualSlotKey}/book")
+    public ResponseEntity<TrialSessionDTO> bookVirtualSlot(
+            @PathVariable String virtualSlotKey,
+            @RequestParam String menteeEmail,
+            @RequestParam String menteeName,
+            @RequestParam(required = false) String menteePhone) throws PortalException {
+        
+        return new ResponseEntity<>(
+            trialSessionService.bookVirtualSlot(virtualSlotKey, menteeEmail, menteeName, menteePhone), 
+            HttpStatus.CREATED
+        );
+    }
+
     // 🆕 ENHANCED QUERY OPERATIONS
     @GetMapping("/date-range")
     public ResponseEntity<List<TrialSessionDTO>> getSessionsByDateRange(
             @RequestParam String startDate,
             @RequestParam String endDate,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         LocalDateTime start = LocalDateTime.parse(startDate);
         LocalDateTime end = LocalDateTime.parse(endDate);
@@ -275,10 +222,9 @@ public class TrialSessionAPI {
             @RequestParam String scheduledDateTime,
             @RequestParam Integer durationMinutes,
             @RequestParam(defaultValue = "5") Integer bufferMinutes,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         LocalDateTime dateTime = LocalDateTime.parse(scheduledDateTime);
         
@@ -293,10 +239,9 @@ public class TrialSessionAPI {
     public ResponseEntity<List<TrialSessionDTO>> updateMultipleSessions(
             @RequestParam List<Long> sessionIds,
             @RequestBody TrialSessionDTO updates,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         return new ResponseEntity<>(
             trialSessionService.updateMultipleTrialSessions(sessionIds, updates, mentorId), 
@@ -307,10 +252,9 @@ public class TrialSessionAPI {
     @DeleteMapping("/bulk-delete")
     public ResponseEntity<ResponseDTO> deleteMultipleSessions(
             @RequestParam List<Long> sessionIds,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         trialSessionService.deleteMultipleTrialSessions(sessionIds, mentorId);
         
@@ -357,9 +301,8 @@ public class TrialSessionAPI {
     
     // 🔒 READ: Get trial sessions for authenticated mentor only
     @GetMapping("/mentor/my-sessions")
-    public ResponseEntity<List<TrialSessionDTO>> getMyTrialSessions(HttpServletRequest request) throws PortalException {
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+    public ResponseEntity<List<TrialSessionDTO>> getMyTrialSessions(CallerContext caller) throws PortalException {
+        Long mentorId = caller.requireMentorId();
         return new ResponseEntity<>(
             trialSessionService.getTrialSessionsByMentor(mentorId), 
             HttpStatus.OK
@@ -368,9 +311,8 @@ public class TrialSessionAPI {
     
     // 🔒 READ: Get available sessions for authenticated mentor only
     @GetMapping("/mentor/my-available")
-    public ResponseEntity<List<TrialSessionDTO>> getMyAvailableSessions(HttpServletRequest request) throws PortalException {
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+    public ResponseEntity<List<TrialSessionDTO>> getMyAvailableSessions(CallerContext caller) throws PortalException {
+        Long mentorId = caller.requireMentorId();
         return new ResponseEntity<>(
             trialSessionService.getAvailableSessionsByMentor(mentorId), 
             HttpStatus.OK
@@ -383,6 +325,16 @@ public class TrialSessionAPI {
         return new ResponseEntity<>(trialSessionService.getAvailableSessionsByMentor(mentorId), HttpStatus.OK);
     }
     
+    // PUBLIC READ: Paginated session summaries for a mentor (dashboard view)
+    @GetMapping("/mentor/{mentorId}/page")
+    public ResponseEntity<CursorPageDTO<TrialSessionSummaryDTO>> getTrialSessionSummariesByMentor(
+            @PathVariable Long mentorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer limit) throws PortalException {
+        return new ResponseEntity<>(
+            trialSessionService.getTrialSessionSummariesByMentor(mentorId, cursor, limit), HttpStatus.OK);
+    }
+    
     // PUBLIC READ: Get all trial sessions for a mentor (public profile view)
     @GetMapping("/mentor/{mentorId}")
     public ResponseEntity<List<TrialSessionDTO>> getTrialSessionsByMentor(@PathVariable Long mentorId) {
@@ -394,10 +346,9 @@ public class TrialSessionAPI {
     public ResponseEntity<TrialSessionDTO> updateTrialSession(
             @PathVariable Long id,
             @RequestBody @Valid TrialSessionDTO trialSessionDTO,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         return new ResponseEntity<>(
             trialSessionService.updateTrialSessionWithOwnership(id, trialSessionDTO, mentorId),
@@ -417,10 +368,9 @@ public class TrialSessionAPI {
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<ResponseDTO> deleteTrialSession(
             @PathVariable Long id,
-            HttpServletRequest request) throws PortalException {
+            CallerContext caller) throws PortalException {
         
-        Long userId = getUserIdFromRequest(request);
-        Long mentorId = getMentorIdFromUserId(userId);
+        Long mentorId = caller.requireMentorId();
         
         trialSessionService.deleteTrialSessionWithOwnership(id, mentorId);
         
@@ -481,6 +431,51 @@ public class TrialSessionAPI {
         return new ResponseEntity<>(trialSessionService.getAvailableSessionsForDate(dateTime), HttpStatus.OK);
     }
     
+    // Paginated available sessions for a specific date, optionally filtered by mentor/session type
+    @GetMapping("/available/page")
+    public ResponseEntity<CursorPageDTO<TrialSessionDTO>> getAvailableSessionsPageForDate(
+            @RequestParam String date,
+            @RequestParam(required = false) Long mentorId,
+            @RequestParam(required = false) String sessionType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer limit) throws PortalException {
+        LocalDateTime dateTime = LocalDateTime.parse(date);
+        return new ResponseEntity<>(
+            trialSessionService.getAvailableSessionsPageForDate(dateTime, mentorId, sessionType, cursor, limit), 
+            HttpStatus.OK
+        );
+    }
+    
+    // Paginated session summaries for a mentee
+    @GetMapping("/mentee/{menteeId}/page")
+    public ResponseEntity<CursorPageDTO<TrialSessionSummaryDTO>> getTrialSessionSummariesByMentee(
+            @PathVariable Long menteeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer limit) throws PortalException {
+        return new ResponseEntity<>(
+            trialSessionService.getTrialSessionSummariesByMentee(menteeId, cursor, limit), HttpStatus.OK);
+    }
+    
+    // Paginated session summaries for a package
+    @GetMapping("/package/{packageId}/page")
+    public ResponseEntity<CursorPageDTO<TrialSessionSummaryDTO>> getTrialSessionSummariesByPackage(
+            @PathVariable Long packageId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer limit) throws PortalException {
+        return new ResponseEntity<>(
+            trialSessionService.getTrialSessionSummariesByPackage(packageId, cursor, limit), HttpStatus.OK);
+    }
+    
+    // Paginated summaries of booked sessions by mentee email
+    @GetMapping("/booked/page")
+    public ResponseEntity<CursorPageDTO<TrialSessionSummaryDTO>> getBookedSessionSummariesByEmail(
+            @RequestParam String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer limit) throws PortalException {
+        return new ResponseEntity<>(
+            trialSessionService.getBookedSessionSummariesByEmail(email, cursor, limit), HttpStatus.OK);
+    }
+    
     // Get booked sessions by mentee email
     @GetMapping("/booked")
     public ResponseEntity<List<TrialSessionDTO>> getBookedSessionsByEmail(@RequestParam String email) {
@@ -0,0 +1,162 @@
+package com.stemlen.config;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.dto.ApplicationStatus;
+import com.stemlen.entity.JobApplication;
+import com.stemlen.repository.JobApplicationRepository;
+import com.stemlen.service.ResumeStorage;
+import com.stemlen.utility.Utilities;
+
+/**
+ * Moves applicants embedded in jobs.applicants into job_applications (resumes into GridFS).
+ *
+ * Runs online: JobServiceImpl calls {@link #migrateJob(Long)} before touching a job, and a
+ * background sweep after startup migrates the rest. Copying is idempotent thanks to the
+ * unique (jobId, applicantId) index, so a job can safely be migrated twice. Once the sweep
+ * finds nothing left to move, the per-call hook becomes a no-op.
+ */
+@Component
+public class JobApplicationMigration {
+
+    private static final String COLLECTION = "jobs";
+    private static final int BATCH_SIZE = 50;   // Small: embedded resumes make these documents large
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Autowired
+    private JobApplicationRepository applicationRepository;
+
+    @Autowired
+    private ResumeStorage resumeStorage;
+
+    // Set once the sweep has emptied jobs.applicants; migrateJob then skips its lookup
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        List<Object> failed = new ArrayList<>();
+        long jobs = 0;
+        long applications = 0;
+        try {
+            while (true) {
+                Query query = new Query(Criteria.where("applicants").exists(true).and("_id").nin(failed)).limit(BATCH_SIZE);
+                query.fields().include("_id");
+                List<Document> batch = mongoOperations.find(query, Document.class, COLLECTION);
+                if (batch.isEmpty()) {
+                    // Jobs that failed still hold applicants, so the per-call hook stays on for them
+                    completed.set(failed.isEmpty());
+                    break;
+                }
+                for (Document job : batch) {
+                    try {
+                        applications += migrateJob(((Number) job.get("_id")).longValue());
+                        jobs++;
+                    } catch (Exception e) {
+                        failed.add(job.get("_id"));
+                        System.err.println("❌ Could not migrate applicants of job " + job.get("_id") + ": " + e.getMessage());
+                    }
+                }
+            }
+            if (jobs > 0) {
+                System.out.println("✅ Moved " + applications + " applications out of " + jobs + " jobs");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Job application migration stopped after " + jobs + " jobs: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the job's embedded applicants (if any) into job_applications and removes the array.
+     *
+     * @return the number of applications created
+     */
+    public int migrateJob(Long jobId) {
+        if (completed.get()) {
+            return 0;
+        }
+        Query query = Query.query(Criteria.where("_id").is(jobId).and("applicants").exists(true));
+        query.fields().include("applicants");
+        Document job = mongoOperations.findOne(query, Document.class, COLLECTION);
+        if (job == null) {
+            return 0;
+        }
+        int created = 0;
+        List<?> applicants = job.get("applicants", List.class);
+        if (applicants != null) {
+            for (Object applicant : applicants) {
+                if (applicant instanceof Document doc && copyApplicant(jobId, doc)) {
+                    created++;
+                }
+            }
+        }
+        mongoOperations.updateFirst(Query.query(Criteria.where("_id").is(jobId)), new Update().unset("applicants"), COLLECTION);
+        return created;
+    }
+
+    private boolean copyApplicant(Long jobId, Document doc) {
+        Long applicantId = toLong(doc.get("applicantId"));
+        if (applicantId == null || applicationRepository.existsByJobIdAndApplicantId(jobId, applicantId)) {
+            return false;
+        }
+        JobApplication application = new JobApplication();
+        try {
+            application.setId(Utilities.getNextSequence("applications"));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not allocate an application id", e);
+        }
+        application.setJobId(jobId);
+        application.setApplicantId(applicantId);
+        application.setName(doc.getString("name"));
+        application.setEmail(doc.getString("email"));
+        application.setPhone(toLong(doc.get("phone")));
+        application.setWebsite(doc.getString("website"));
+        application.setCoverLetter(doc.getString("coverLetter"));
+        application.setTimestamp(toLocalDateTime(doc.get("timestamp")));
+        application.setInterviewTime(toLocalDateTime(doc.get("interviewTime")));
+        if (doc.get("applicationStatus") instanceof String status) {
+            application.setApplicationStatus(ApplicationStatus.valueOf(status));
+        }
+        byte[] resume = doc.get("resume") instanceof Binary binary ? binary.getData()
+                : doc.get("resume") instanceof byte[] bytes ? bytes : null;
+        if (resume != null && resume.length > 0) {
+            application.setResumeId(resumeStorage.store(jobId, applicantId, resume));
+        }
+        try {
+            applicationRepository.insert(application);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Migrated concurrently by another caller
+            resumeStorage.delete(application.getResumeId());
+            return false;
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Date date ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+}
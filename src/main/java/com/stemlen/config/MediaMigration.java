@@ -0,0 +1,96 @@
+package com.stemlen.config;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.service.MediaStorage;
+
+/**
+ * Background migration that moves inline image bytes (profile and mentor pictures and
+ * backgrounds, job icons) into GridFS and replaces them with content hashes. Runs in batches
+ * after startup and is a no-op once no document carries an inline image any more.
+ */
+@Component
+public class MediaMigration {
+
+    private static final int BATCH_SIZE = 50;   // Small: these documents carry the images
+
+    // collection, inline field, hash field
+    private static final String[][] FIELDS = {
+        {"profile", "picture", "pictureHash"},
+        {"profile", "profileBackground", "profileBackgroundHash"},
+        {"mentors", "picture", "pictureHash"},
+        {"mentors", "profileBackground", "profileBackgroundHash"},
+        {"jobs", "iconImage", "iconImageHash"}
+    };
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        for (String[] field : FIELDS) {
+            long migrated = 0;
+            try {
+                migrated = migrate(field[0], field[1], field[2]);
+                if (migrated > 0) {
+                    System.out.println("✅ Moved " + migrated + " " + field[0] + "." + field[1] + " images to GridFS");
+                }
+            } catch (Exception e) {
+                System.err.println("❌ Media migration of " + field[0] + "." + field[1] + " stopped: " + e.getMessage());
+            }
+        }
+    }
+
+    private long migrate(String collection, String inlineField, String hashField) {
+        long migrated = 0;
+        Object lastId = null;
+        while (true) {
+            // Walk by _id so documents whose update lost a race are not picked up again forever
+            Criteria criteria = Criteria.where(inlineField).exists(true);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = new Query(criteria).with(Sort.by("_id")).limit(BATCH_SIZE);
+            query.fields().include(inlineField);
+            List<Document> batch = mongoOperations.find(query, Document.class, collection);
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+
+            BulkOperations bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, collection);
+            for (Document doc : batch) {
+                Object inline = doc.get(inlineField);
+                byte[] bytes = inline instanceof Binary binary ? binary.getData()
+                        : inline instanceof byte[] array ? array : null;
+                Update update = new Update().unset(inlineField);
+                if (bytes != null && bytes.length > 0) {
+                    update.set(hashField, mediaStorage.store(bytes));
+                }
+                // Only if the image was not replaced meanwhile; a newer write keeps its own value
+                bulk.updateOne(new Query(Criteria.where("_id").is(doc.get("_id")).and(inlineField).is(inline)), update);
+            }
+            bulk.execute();
+            migrated += batch.size();
+            lastId = batch.get(batch.size() - 1).get("_id");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.stemlen.config;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.entity.User;
+import com.stemlen.repository.UserRepository;
+import com.stemlen.utility.Utilities;
+
+/**
+ * Background migration that replaces the Base64 picture copied into booked trial sessions
+ * with a profile reference and content hash. Runs in batches after startup and is a no-op
+ * once no session carries menteeProfilePicture any more.
+ */
+@Component
+public class TrialSessionAvatarMigration {
+
+    private static final String COLLECTION = "trial_sessions";
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        Map<String, Long> profileIdsByEmail = new HashMap<>();
+        long migrated = 0;
+        try {
+            while (true) {
+                Query query = new Query(Criteria.where("menteeProfilePicture").exists(true)).limit(BATCH_SIZE);
+                query.fields().include("menteeEmail", "menteeProfileId", "menteeProfilePicture");
+                List<Document> batch = mongoOperations.find(query, Document.class, COLLECTION);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                BulkOperations bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, COLLECTION);
+                for (Document session : batch) {
+                    bulk.updateOne(new Query(Criteria.where("_id").is(session.get("_id"))),
+                            toReference(session, profileIdsByEmail));
+                }
+                bulk.execute();
+                migrated += batch.size();
+            }
+            if (migrated > 0) {
+                System.out.println("✅ Migrated mentee pictures out of " + migrated + " trial sessions");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Trial session avatar migration stopped after " + migrated + " sessions: " + e.getMessage());
+        }
+    }
+
+    private Update toReference(Document session, Map<String, Long> profileIdsByEmail) {
+        Update update = new Update().unset("menteeProfilePicture");
+
+        if (session.get("menteeProfilePicture") instanceof String picture && !picture.isEmpty()) {
+            try {
+                update.set("menteeAvatarHash", Utilities.sha256Hex(Base64.getDecoder().decode(picture)));
+            } catch (IllegalArgumentException e) {
+                // Not valid Base64; the copy is dropped without a hash
+            }
+        }
+
+        String email = session.getString("menteeEmail");
+        if (session.get("menteeProfileId") == null && email != null) {
+            Long profileId = profileIdsByEmail.computeIfAbsent(email,
+                    key -> userRepository.findByEmail(key).map(User::getProfileId).orElse(null));
+            if (profileId != null) {
+                update.set("menteeProfileId", profileId);
+            }
+        }
+        return update;
+    }
+}
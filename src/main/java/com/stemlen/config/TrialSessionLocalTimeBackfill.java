@@ -0,0 +1,64 @@
+package com.stemlen.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.entity.TrialSession;
+
+/**
+ * Background backfill of localHour/localDayOfWeek/localDate for trial sessions written before
+ * those fields existed. Runs in batches after startup; new writes are covered by
+ * {@link TrialSessionLocalTimeCallback}.
+ */
+@Component
+public class TrialSessionLocalTimeBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long updated = 0;
+        try {
+            while (true) {
+                Query query = new Query(Criteria.where("localHour").exists(false)
+                        .and("scheduledDateTime").ne(null)).limit(BATCH_SIZE);
+                query.fields().include("scheduledDateTime", "timeZone");
+                List<TrialSession> batch = mongoOperations.find(query, TrialSession.class);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                BulkOperations bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, TrialSession.class);
+                for (TrialSession session : batch) {
+                    session.applyLocalTimeFields();
+                    bulk.updateOne(new Query(Criteria.where("_id").is(session.getId())), new Update()
+                            .set("localHour", session.getLocalHour())
+                            .set("localDayOfWeek", session.getLocalDayOfWeek())
+                            .set("localDate", session.getLocalDate()));
+                }
+                bulk.execute();
+                updated += batch.size();
+            }
+            if (updated > 0) {
+                System.out.println("✅ Backfilled local time fields on " + updated + " trial sessions");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Trial session local time backfill stopped after " + updated + " sessions: " + e.getMessage());
+        }
+    }
+}
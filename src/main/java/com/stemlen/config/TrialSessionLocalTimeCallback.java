@@ -0,0 +1,20 @@
+package com.stemlen.config;
+
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.entity.TrialSession;
+
+/**
+ * Keeps the derived local time fields of every trial session in sync on save and insert,
+ * including bulk inserts.
+ */
+@Component
+public class TrialSessionLocalTimeCallback implements BeforeConvertCallback<TrialSession> {
+
+    @Override
+    public TrialSession onBeforeConvert(TrialSession session, String collection) {
+        session.applyLocalTimeFields();
+        return session;
+    }
+}
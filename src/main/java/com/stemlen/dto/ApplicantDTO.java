@@ -1,9 +1,6 @@
 package com.stemlen.dto;
 
 import java.time.LocalDateTime;
-import java.util.Base64;
-
-import com.stemlen.entity.Applicant;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,22 +10,17 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ApplicantDTO {
+	 private Long applicationId;
 	 private Long applicantId; 
 	 private String name;
 	 private String email;
 	 private Long phone;
 	 private String website;
-	 private String resume;
+	 private String resume;      // Base64, accepted on apply only; read it back through resumeUrl
+	 private String resumeUrl;
 	 private String coverLetter;
 	 private LocalDateTime timestamp;
 	 private ApplicationStatus applicationStatus;
 	 private LocalDateTime interviewTime;
-	 
-	public Applicant toEntity() {
-		return new Applicant(this.applicantId,this.name,this.email,this.phone,this.website,
-				this.resume!=null?Base64.getDecoder().decode(this.resume):null,
-				this.coverLetter,this.timestamp,this.applicationStatus , this.interviewTime);
-	}
-
 
 }
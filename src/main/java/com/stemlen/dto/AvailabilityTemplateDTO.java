@@ -31,6 +31,7 @@ public class AvailabilityTemplateDTO {
     
     private Boolean isDefault = false;     // Is this the mentor's default template
     private Boolean isActive = true;
+    private Boolean isVirtual = false;     // Expanded on read; slots are only persisted when booked
     
     @Data
     @AllArgsConstructor
@@ -0,0 +1,14 @@
+package com.stemlen.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvatarDTO {
+    private Long profileId;
+    private String hash;      // SHA-256 of the image bytes
+    private String url;       // Smallest thumbnail under /media/{hash}, cacheable forever
+}
@@ -0,0 +1,39 @@
+package com.stemlen.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTrialSessionResultDTO {
+    
+    private List<TrialSessionDTO> createdSessions = new ArrayList<>();
+    
+    // Totals across the whole requested range
+    private Integer totalCreated = 0;
+    private Integer totalSkippedConflict = 0;
+    private Integer totalFailed = 0;
+    
+    // Per-day breakdown, ordered by date
+    private List<DaySummaryDTO> days = new ArrayList<>();
+    
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class DaySummaryDTO {
+        private LocalDate date;
+        private Integer created = 0;
+        private Integer skippedConflict = 0;
+        private Integer failed = 0;
+        
+        public DaySummaryDTO(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
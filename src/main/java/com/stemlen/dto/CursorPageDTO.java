@@ -0,0 +1,23 @@
+package com.stemlen.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+    
+    private List<T> items = new ArrayList<>();
+    
+    // Opaque cursor for the next page; null when there are no more results
+    private String nextCursor;
+    private Boolean hasMore = false;
+    
+    // Approximate number of matches, only filled in on the first page (null otherwise)
+    private Long totalEstimate;
+}
@@ -0,0 +1,8 @@
+package com.stemlen.dto;
+
+public enum EmailOutboxStatus {
+    PENDING,    // Waiting to be sent (or retried after nextAttemptAt)
+    SENDING,    // Claimed by a worker until lockedUntil
+    SENT,       // Delivered to the SMTP server
+    DEAD        // Gave up after the maximum number of attempts
+}
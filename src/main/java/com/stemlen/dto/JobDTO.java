@@ -1,10 +1,10 @@
 package com.stemlen.dto;
 
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.List;
 
 import com.stemlen.entity.Job;
+import com.stemlen.service.MediaStorage;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,14 +29,15 @@ public class JobDTO {
     private JobStatus jobStatus;
     private Long postedBy;
     private String applyUrl;
-    private String iconImage;
+    private String iconImage;       // Base64 upload, accepted on post only ("" removes it)
+    private String iconImageUrl;
+    private String iconImageThumbnailUrl;
     
     public Job toEntity() {
     	 return new Job(
     	            this.id,
     	            this.jobTitle,
     	            this.company,
-    	            this.applicants!=null?this.applicants.stream().map((x)->x.toEntity()).toList():null,
     	            this.about,
     	            this.experience,
     	            this.jobType,
@@ -48,7 +49,8 @@ public class JobDTO {
     	            this.jobStatus,
     	            this.postedBy,
     	            this.applyUrl,
-    	            this.iconImage != null ? Base64.getDecoder().decode(this.iconImage) : null
+    	            null,
+    	            MediaStorage.hashFromUrl(this.iconImageUrl)
     	        );
 	}
 
@@ -0,0 +1,30 @@
+package com.stemlen.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobSearchResultDTO {
+
+    private Long total = 0L;
+    private List<Hit> hits = new ArrayList<>();
+
+    // facet name (jobType, location, experience, skills) -> value -> matching jobs
+    private Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Hit {
+        private JobSummaryDTO job;
+        private Double score;
+    }
+}
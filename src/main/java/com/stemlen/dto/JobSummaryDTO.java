@@ -0,0 +1,30 @@
+package com.stemlen.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Job card for the public feed: no applicants or description; the icon is a /media URL.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobSummaryDTO {
+    private Long id;
+    private String jobTitle;
+    private String company;
+    private String experience;
+    private String jobType;
+    private String location;
+    private Long packageOffered;
+    private LocalDateTime postTime;
+    private List<String> skillsRequired;
+    private JobStatus jobStatus;
+    private Long postedBy;
+    private String applyUrl;
+    private String iconImageUrl;   // Smallest thumbnail
+}
@@ -1,10 +1,10 @@
 package com.stemlen.dto;
 
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.List;
 
 import com.stemlen.entity.Mentor;
+import com.stemlen.service.MediaStorage;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,8 +21,11 @@ public class MentorDTO {
     private String company;
     private String location;
     private String about;
-    private String picture; // Base64 encoded image
-    private String profileBackground; // Base64 encoded image
+    private String picture; // Base64 upload, accepted on write only ("" removes it)
+    private String pictureUrl; // Where to load the picture from
+    private String pictureThumbnailUrl; // Smallest thumbnail, used by the mentor directory
+    private String profileBackground; // Base64 upload, accepted on write only ("" removes it)
+    private String profileBackgroundUrl;
     private Long totalExp;
     private List<String> skills;
     private List<Experience> experiences;
@@ -47,8 +50,8 @@ public class MentorDTO {
     public Mentor toEntity() {
         return new Mentor(
             this.id, this.name, this.email, this.jobTitle, this.company, this.location, this.about,
-            this.picture != null ? Base64.getDecoder().decode(this.picture) : null,
-            this.profileBackground != null ? Base64.getDecoder().decode(this.profileBackground) : null,
+            null, null,
+            MediaStorage.hashFromUrl(this.pictureUrl), MediaStorage.hashFromUrl(this.profileBackgroundUrl),
             this.totalExp, this.skills, this.experiences, this.certifications,
             this.expertise, this.bio, this.mentorshipAreas, this.isAvailable,
             this.currentMentees, this.mentorshipStatus, this.joinDate,
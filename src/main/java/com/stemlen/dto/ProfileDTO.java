@@ -1,10 +1,10 @@
 package com.stemlen.dto;
 
-import java.util.Base64;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
 import com.stemlen.entity.Profile;
+import com.stemlen.service.MediaStorage;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -23,8 +23,11 @@ public class ProfileDTO {
 	  private String company;
 	  private String location;
 	  private String about;
-	  private String picture;
-	  private String profileBackground;
+	  private String picture;               // Base64, accepted on update only ("" removes it); read it through pictureUrl
+	  private String pictureUrl;
+	  private String pictureThumbnailUrl;   // Smallest thumbnail, for lists and avatars
+	  private String profileBackground;     // Base64, accepted on update only ("" removes it)
+	  private String profileBackgroundUrl;
 	  private Long totalExp;
 	  private List<String>skills;
 	  private List<Experience>experiences;
@@ -33,8 +36,8 @@ public class ProfileDTO {
 	  
 	  public Profile toEntity() {
 	        return new Profile(this.id,this.name, this.email, this.jobTitle, this.company, this.location, this.about,
-	        		           this.picture!=null?Base64.getDecoder().decode(this.picture):null,
-	        		           this.profileBackground!=null?Base64.getDecoder().decode(this.profileBackground):null,
+	        		           null, null,
+	        		           MediaStorage.hashFromUrl(this.pictureUrl), MediaStorage.hashFromUrl(this.profileBackgroundUrl),
 	                             this.totalExp ,this.skills, this.experiences, this.certifications,this.savedJobs); 
 	    }
 }
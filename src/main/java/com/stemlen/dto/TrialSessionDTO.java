@@ -38,6 +38,7 @@ public class TrialSessionDTO {
     private Boolean isRecurring = false;    // Is this part of a recurring series
     private Long parentSessionId;           // Reference to original session if recurring
     private String availabilityTemplate;   // Template name for reusing patterns
+    private String virtualSlotKey;         // Set on virtual slots; book with this key instead of an ID
     
     // Session configuration
     private String sessionTitle;           // Custom title for the session
@@ -56,7 +57,8 @@ public class TrialSessionDTO {
     private String menteeEmail;
     private String menteeName;
     private String menteePhone;
-    private String menteeProfilePicture; // Base64 encoded profile picture
+    private Long menteeProfileId;        // Resolve the picture via /profiles/avatars
+    private String menteeAvatarHash;     // SHA-256 of the picture, usable as a cache key
     
     // Session notes and tracking
     private String notes;
@@ -87,6 +89,7 @@ public class TrialSessionDTO {
         entity.setIsRecurring(this.isRecurring != null ? this.isRecurring : false);
         entity.setParentSessionId(this.parentSessionId);
         entity.setAvailabilityTemplate(this.availabilityTemplate);
+        entity.setVirtualSlotKey(this.virtualSlotKey);
         
         // Session configuration
         entity.setSessionTitle(this.sessionTitle);
@@ -105,7 +108,8 @@ public class TrialSessionDTO {
         entity.setMenteeEmail(this.menteeEmail);
         entity.setMenteeName(this.menteeName);
         entity.setMenteePhone(this.menteePhone);
-        entity.setMenteeProfilePicture(this.menteeProfilePicture);
+        entity.setMenteeProfileId(this.menteeProfileId);
+        entity.setMenteeAvatarHash(this.menteeAvatarHash);
         
         // Tracking
         entity.setNotes(this.notes);
@@ -0,0 +1,35 @@
+package com.stemlen.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Slim listing view of a trial session. Leaves out the profile picture, notes,
+ * descriptions and meeting credentials; fetch the full session by ID when needed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrialSessionSummaryDTO {
+    
+    private Long id;
+    private Long mentorId;
+    private Long menteeId;
+    private Long packageId;
+    
+    private LocalDateTime scheduledDateTime;
+    private Integer durationMinutes;
+    private TrialSessionStatus status;
+    private String sessionType;
+    private String timeZone;
+    private String sessionTitle;
+    private Boolean isRecurring;
+    
+    private String menteeName;
+    private String menteeEmail;
+    private Long menteeProfileId;
+    private String menteeAvatarHash;
+}
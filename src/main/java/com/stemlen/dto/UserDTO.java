@@ -46,7 +46,7 @@ public class UserDTO {
         this.email = email;
         this.name = name;
         this.provider = provider;
-        this.password = "OAUTH_USER_NO_PASSWORD"; // Default password for OAuth2 users
+        this.password = null; // OAuth2 users have no password
         this.accountType = AccountType.APPLICANT; // Default account type for OAuth2 users
         this.emailVerified = true; // Assume OAuth users are verified
     }
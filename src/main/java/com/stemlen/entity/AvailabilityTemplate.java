@@ -38,6 +38,7 @@ public class AvailabilityTemplate {
     
     private Boolean isDefault;     // Is this the mentor's default template
     private Boolean isActive;
+    private Boolean isVirtual;     // Expanded on read; slots are only persisted when booked
     
     /**
      * Convert entity to DTO
@@ -65,6 +66,7 @@ public class AvailabilityTemplate {
         dto.setRequireConfirmation(this.requireConfirmation);
         dto.setIsDefault(this.isDefault);
         dto.setIsActive(this.isActive);
+        dto.setIsVirtual(this.isVirtual);
         
         return dto;
     }
@@ -0,0 +1,40 @@
+package com.stemlen.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.stemlen.dto.EmailOutboxStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_next_attempt_idx", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class EmailOutboxMessage {
+
+    @Id
+    private String id;
+
+    private String to;
+    private String subject;
+    private String htmlBody;
+
+    private EmailOutboxStatus status;
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;   // Not retried before this time
+    private LocalDateTime lockedUntil;     // Claim lease; an expired SENDING message is claimed again
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    // Sent messages are removed by Mongo after 7 days; pending and dead ones are kept
+    @Indexed(expireAfterSeconds = 604800)
+    private LocalDateTime sentAt;
+}
@@ -1,14 +1,17 @@
 package com.stemlen.entity;
 
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.stemlen.dto.JobDTO;
 import com.stemlen.dto.JobStatus;
+import com.stemlen.dto.JobSummaryDTO;
+import com.stemlen.service.MediaStorage;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,12 +21,21 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection="jobs")
+@CompoundIndexes({
+    // Feed: equality filters first, then the (postTime, _id) keyset sort
+    @CompoundIndex(name = "status_post_time_idx", def = "{'jobStatus': 1, 'postTime': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_type_post_time_idx", def = "{'jobStatus': 1, 'jobType': 1, 'postTime': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_location_post_time_idx", def = "{'jobStatus': 1, 'location': 1, 'postTime': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_experience_post_time_idx", def = "{'jobStatus': 1, 'experience': 1, 'postTime': -1, '_id': -1}"),
+    @CompoundIndex(name = "status_skills_post_time_idx", def = "{'jobStatus': 1, 'skillsRequired': 1, 'postTime': -1, '_id': -1}"),
+    @CompoundIndex(name = "posted_by_idx", def = "{'postedBy': 1}")
+})
 public class Job {
     @Id
     private Long id;
     private String jobTitle;
     private String company;
-    private List<Applicant> applicants;
+    // Applicants live in job_applications (see JobApplicationMigration for older documents)
     private String about;
     private String experience;
     private String jobType;
@@ -35,14 +47,27 @@ public class Job {
     private JobStatus jobStatus;
     private Long postedBy;
     private String applyUrl;
-    private byte[] iconImage;
+    private byte[] iconImage;       // Legacy inline icon; MediaMigration moves it to GridFS
+    private String iconImageHash;   // Served by /media/{hash}
+    
+    // Fields read for the feed; description and legacy icon bytes stay on disk
+    public static final String[] SUMMARY_FIELDS = {
+        "jobTitle", "company", "experience", "jobType", "location", "packageOffered", "postTime",
+        "skillsRequired", "jobStatus", "postedBy", "applyUrl", "iconImageHash"
+    };
+    
+    public JobSummaryDTO toSummaryDTO() {
+        return new JobSummaryDTO(this.id, this.jobTitle, this.company, this.experience, this.jobType,
+                this.location, this.packageOffered, this.postTime, this.skillsRequired, this.jobStatus,
+                this.postedBy, this.applyUrl, MediaStorage.thumbnailUrl(this.iconImageHash));
+    }
     
     public JobDTO toDTO() {
    	 return new JobDTO(this.id,this.jobTitle,this.company,
-   	            this.applicants!=null?this.applicants.stream().map((x)->x.toDTO()).toList():null,
+   	            null,
    	            this.about,this.experience,this.jobType,this.location,this.packageOffered,this.postTime,
    	            this.description,this.skillsRequired,this.jobStatus,this.postedBy,this.applyUrl,
-   	            this.iconImage!=null?Base64.getEncoder().encodeToString(this.iconImage):null
+   	            null, MediaStorage.url(this.iconImageHash), MediaStorage.thumbnailUrl(this.iconImageHash)
    	        );
 	}
 
@@ -0,0 +1,68 @@
+package com.stemlen.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.stemlen.dto.ApplicantDTO;
+import com.stemlen.dto.ApplicationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One application to a job. Used to be embedded in Job.applicants; the resume is kept in
+ * GridFS and referenced by resumeId.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "job_applications")
+@CompoundIndexes({
+    // Unique so a second apply fails on insert instead of needing a read first
+    @CompoundIndex(name = "job_applicant_idx", def = "{'jobId': 1, 'applicantId': 1}", unique = true)
+})
+public class JobApplication {
+
+    @Id
+    private Long id;
+
+    private Long jobId;
+    @Indexed
+    private Long applicantId;
+
+    private String name;
+    private String email;
+    private Long phone;
+    private String website;
+    private String resumeId;        // GridFS file id, null if no resume was sent
+    private String coverLetter;
+    private LocalDateTime timestamp;
+    private ApplicationStatus applicationStatus;
+    private LocalDateTime interviewTime;
+
+    public static String resumeUrl(Long applicationId) {
+        return "/jobs/applications/" + applicationId + "/resume";
+    }
+
+    public ApplicantDTO toDTO() {
+        ApplicantDTO dto = new ApplicantDTO();
+        dto.setApplicationId(this.id);
+        dto.setApplicantId(this.applicantId);
+        dto.setName(this.name);
+        dto.setEmail(this.email);
+        dto.setPhone(this.phone);
+        dto.setWebsite(this.website);
+        dto.setResumeUrl(this.resumeId != null ? resumeUrl(this.id) : null);
+        dto.setCoverLetter(this.coverLetter);
+        dto.setTimestamp(this.timestamp);
+        dto.setApplicationStatus(this.applicationStatus);
+        dto.setInterviewTime(this.interviewTime);
+        return dto;
+    }
+}
@@ -1,7 +1,6 @@
 package com.stemlen.entity;
 
 import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
@@ -11,6 +10,7 @@ import com.stemlen.dto.Certification;
 import com.stemlen.dto.Experience;
 import com.stemlen.dto.MentorDTO;
 import com.stemlen.dto.MentorshipStatus;
+import com.stemlen.service.MediaStorage;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,8 +29,10 @@ public class Mentor {
     private String company;
     private String location;
     private String about;
-    private byte[] picture;
-    private byte[] profileBackground;
+    private byte[] picture; // Legacy inline image; MediaMigration moves it to GridFS
+    private byte[] profileBackground; // Legacy inline image; MediaMigration moves it to GridFS
+    private String pictureHash; // Served by /media/{hash}
+    private String profileBackgroundHash;
     private Long totalExp;
     private List<String> skills;
     private List<Experience> experiences;
@@ -55,8 +57,8 @@ public class Mentor {
     public MentorDTO toDTO() {
         return new MentorDTO(
             this.id, this.name, this.email, this.jobTitle, this.company, this.location, this.about,
-            this.picture != null ? Base64.getEncoder().encodeToString(this.picture) : null,
-            this.profileBackground != null ? Base64.getEncoder().encodeToString(this.profileBackground) : null,
+            null, MediaStorage.url(this.pictureHash), MediaStorage.thumbnailUrl(this.pictureHash),
+            null, MediaStorage.url(this.profileBackgroundHash),
             this.totalExp, this.skills, this.experiences, this.certifications,
             this.expertise, this.bio, this.mentorshipAreas, this.isAvailable,
             this.currentMentees, this.mentorshipStatus, this.joinDate,
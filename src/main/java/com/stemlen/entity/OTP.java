@@ -3,8 +3,11 @@ package com.stemlen.entity;
 import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.stemlen.service.OtpStore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,6 +20,9 @@ public class OTP {
 	@Id
 	private String email;
 	private String otpCode;
+	// Mongo deletes the code once it expires
+	@Indexed(expireAfterSeconds = OtpStore.TTL_SECONDS)
 	private LocalDateTime creationTime;
+	private Integer attempts;
 
 }
@@ -1,6 +1,5 @@
 package com.stemlen.entity;
 
-import java.util.Base64;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
@@ -9,6 +8,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import com.stemlen.dto.Certification;
 import com.stemlen.dto.Experience;
 import com.stemlen.dto.ProfileDTO;
+import com.stemlen.service.MediaStorage;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -27,8 +27,10 @@ public class Profile {
     private String company;
     private String location;
     private String about;
-    private byte[] picture;
-    private byte[] profileBackground;
+    private byte[] picture;               // Legacy inline image; MediaMigration moves it to GridFS
+    private byte[] profileBackground;     // Legacy inline image; MediaMigration moves it to GridFS
+    private String pictureHash;           // Served by /media/{hash}
+    private String profileBackgroundHash;
     private Long totalExp;
     private List<String> skills;
     private List<Experience> experiences;
@@ -37,8 +39,8 @@ public class Profile {
 
     public ProfileDTO toDTO() {
         return new ProfileDTO(this.id,this.name, this.email, this.jobTitle, this.company, this.location, this.about,
-        		              this.picture!=null?Base64.getEncoder().encodeToString(this.picture):null,
-        		            		  this.profileBackground!=null?Base64.getEncoder().encodeToString(this.profileBackground):null,
+        		              null, MediaStorage.url(this.pictureHash), MediaStorage.thumbnailUrl(this.pictureHash),
+        		              null, MediaStorage.url(this.profileBackgroundHash),
                               this.totalExp,this.skills, this.experiences, this.certifications,this.savedJobs); 
     }
 }
@@ -0,0 +1,28 @@
+package com.stemlen.entity;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "rate_limit_buckets")
+public class RateLimitBucket {
+
+    @Id
+    private String id;          // "policy:keyType:value"
+
+    private Double tokens;
+    private Long updatedAt;     // epoch millis of the last successful take
+
+    // Removed by Mongo once the bucket would be full again
+    @Indexed(expireAfterSeconds = 0)
+    private Date expireAt;
+}
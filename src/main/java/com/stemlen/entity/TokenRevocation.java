@@ -0,0 +1,27 @@
+package com.stemlen.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-user token cut-off: JWTs for this user issued before notBefore are rejected.
+ */
+@Document(collection = "token_revocations")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocation {
+	@Id
+	private String email;          // JWT subject
+	private Long userId;
+	private LocalDateTime notBefore;
+	@Indexed
+	private LocalDateTime updatedAt; // Lets nodes pull only the changes since their last refresh
+}
@@ -4,10 +4,14 @@ import java.time.LocalDateTime;
 import java.util.Base64;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.stemlen.dto.TrialSessionDTO;
 import com.stemlen.dto.TrialSessionStatus;
+import com.stemlen.dto.TrialSessionSummaryDTO;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,6 +21,15 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "trial_sessions")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_scheduled_idx", def = "{'status': 1, 'scheduledDateTime': 1}"),
+    @CompoundIndex(name = "mentor_status_scheduled_idx", def = "{'mentorId': 1, 'status': 1, 'scheduledDateTime': 1}"),
+    @CompoundIndex(name = "mentee_email_status_scheduled_idx", def = "{'menteeEmail': 1, 'status': 1, 'scheduledDateTime': 1}"),
+    @CompoundIndex(name = "mentor_scheduled_idx", def = "{'mentorId': 1, 'scheduledDateTime': 1}"),
+    @CompoundIndex(name = "mentee_scheduled_idx", def = "{'menteeId': 1, 'scheduledDateTime': 1}"),
+    @CompoundIndex(name = "package_scheduled_idx", def = "{'packageId': 1, 'scheduledDateTime': 1}"),
+    @CompoundIndex(name = "mentor_local_dow_hour_idx", def = "{'mentorId': 1, 'localDayOfWeek': 1, 'localHour': 1}")
+})
 public class TrialSession {
     
     @Id
@@ -30,6 +43,12 @@ public class TrialSession {
     
     private LocalDateTime scheduledDateTime;
     private Integer durationMinutes;
+    
+    // Derived from scheduledDateTime in the session's time zone on every write, so time-pattern
+    // queries can use an index instead of $hour/$dayOfWeek expressions
+    private Integer localHour;             // 0-23
+    private Integer localDayOfWeek;        // 1=Monday, 7=Sunday
+    private String localDate;              // ISO yyyy-MM-dd
     private TrialSessionStatus status;
     private String sessionType;
     
@@ -43,6 +62,10 @@ public class TrialSession {
     private Long parentSessionId;          // Reference to original session if recurring
     private String availabilityTemplate;  // Template name for reusing patterns
     
+    // "templateId:epochSecond" when materialized from a virtual template; unique so a slot is booked once
+    @Indexed(unique = true, sparse = true)
+    private String virtualSlotKey;
+    
     // Session configuration
     private String sessionTitle;          // Custom title for the session
     private String sessionDescription;    // Brief description
@@ -60,7 +83,8 @@ public class TrialSession {
     private String menteeEmail;
     private String menteeName;
     private String menteePhone;
-    private String menteeProfilePicture; // Base64 encoded profile picture
+    private Long menteeProfileId;      // Picture is served via /profiles/avatars, not stored here
+    private String menteeAvatarHash;   // SHA-256 of the mentee's picture; changes when the picture does
     
     // Session notes and tracking
     private String notes;
@@ -68,6 +92,39 @@ public class TrialSession {
     private LocalDateTime updatedAt;
     private LocalDateTime completedAt;
     
+    /**
+     * Recomputes localHour/localDayOfWeek/localDate. scheduledDateTime is already the wall-clock
+     * time in the session's timeZone, so the derived fields are read straight off it.
+     */
+    public void applyLocalTimeFields() {
+        if (this.scheduledDateTime == null) {
+            this.localHour = null;
+            this.localDayOfWeek = null;
+            this.localDate = null;
+            return;
+        }
+        this.localHour = this.scheduledDateTime.getHour();
+        this.localDayOfWeek = this.scheduledDateTime.getDayOfWeek().getValue();
+        this.localDate = this.scheduledDateTime.toLocalDate().toString();
+    }
+    
+    // Fields read for listings; large fields stay on disk
+    public static final String[] SUMMARY_FIELDS = {
+        "mentorId", "menteeId", "packageId", "scheduledDateTime", "durationMinutes", "status",
+        "sessionType", "timeZone", "sessionTitle", "isRecurring", "menteeName", "menteeEmail",
+        "menteeProfileId", "menteeAvatarHash"
+    };
+    
+    /**
+     * Convert entity to summary DTO (only SUMMARY_FIELDS need to be loaded)
+     */
+    public TrialSessionSummaryDTO toSummaryDTO() {
+        return new TrialSessionSummaryDTO(this.id, this.mentorId, this.menteeId, this.packageId,
+            this.scheduledDateTime, this.durationMinutes, this.status, this.sessionType, this.timeZone,
+            this.sessionTitle, this.isRecurring, this.menteeName, this.menteeEmail,
+            this.menteeProfileId, this.menteeAvatarHash);
+    }
+    
     /**
      * Convert entity to DTO
      */
@@ -91,6 +148,7 @@ public class TrialSession {
         dto.setIsRecurring(this.isRecurring);
         dto.setParentSessionId(this.parentSessionId);
         dto.setAvailabilityTemplate(this.availabilityTemplate);
+        dto.setVirtualSlotKey(this.virtualSlotKey);
         
         // Session configuration
         dto.setSessionTitle(this.sessionTitle);
@@ -109,7 +167,8 @@ public class TrialSession {
         dto.setMenteeEmail(this.menteeEmail);
         dto.setMenteeName(this.menteeName);
         dto.setMenteePhone(this.menteePhone);
-        dto.setMenteeProfilePicture(this.menteeProfilePicture);
+        dto.setMenteeProfileId(this.menteeProfileId);
+        dto.setMenteeAvatarHash(this.menteeAvatarHash);
         
         // Tracking
         dto.setNotes(this.notes);
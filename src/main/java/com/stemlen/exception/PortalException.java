@@ -1,10 +1,25 @@
 package com.stemlen.exception;
 
+import org.springframework.http.HttpStatus;
+
 public class PortalException extends Exception {
 	
 	private static final long serialVersionUID =1L;
+	
+	// HTTP status returned to the client; most portal errors are lookups that failed
+	private final HttpStatus status;
+	
 	public PortalException(String message) {
+		this(message, HttpStatus.NOT_FOUND);
+	}
+	
+	public PortalException(String message, HttpStatus status) {
 		super (message);
+		this.status = status;
+	}
+	
+	public HttpStatus getStatus() {
+		return status;
 	}
 
 }
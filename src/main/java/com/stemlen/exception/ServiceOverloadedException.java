@@ -0,0 +1,21 @@
+package com.stemlen.exception;
+
+/**
+ * Thrown when a bounded resource (e.g. the password hashing pool) is saturated. Mapped to
+ * 503 with Retry-After so clients back off instead of piling more work on.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public ServiceOverloadedException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
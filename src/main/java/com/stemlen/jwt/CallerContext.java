@@ -0,0 +1,64 @@
+package com.stemlen.jwt;
+
+import com.stemlen.exception.PortalException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Who is calling, resolved once per request by {@link JwtAuthFilter}. Controllers receive it as
+ * a method argument (see {@link CallerContextArgumentResolver}).
+ */
+public class CallerContext {
+
+    public static final String REQUEST_ATTRIBUTE = CallerContext.class.getName();
+
+    private final Long userId;
+    private final String email;
+    private final Long profileId;
+    private final String accountType;
+    private final Long mentorId;
+
+    public CallerContext(Long userId, String email, Long profileId, String accountType, Long mentorId) {
+        this.userId = userId;
+        this.email = email;
+        this.profileId = profileId;
+        this.accountType = accountType;
+        this.mentorId = mentorId;
+    }
+
+    public static CallerContext from(HttpServletRequest request) {
+        Object context = request.getAttribute(REQUEST_ATTRIBUTE);
+        return context instanceof CallerContext caller ? caller : null;
+    }
+
+    /**
+     * @return the caller's mentor id
+     * @throws PortalException if the caller has no mentor profile
+     */
+    public Long requireMentorId() throws PortalException {
+        if (mentorId == null) {
+            throw new PortalException("MENTOR_PROFILE_NOT_FOUND: User " + userId + " does not have a mentor profile. Please create a mentor profile first.");
+        }
+        return mentorId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getProfileId() {
+        return profileId;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public Long getMentorId() {
+        return mentorId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.stemlen.jwt;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.stemlen.exception.PortalException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Injects the {@link CallerContext} resolved by {@link JwtAuthFilter} into controller methods.
+ */
+@Component
+public class CallerContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CallerContext.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        CallerContext caller = CallerContext.from(webRequest.getNativeRequest(HttpServletRequest.class));
+        if (caller == null || caller.getUserId() == null) {
+            throw new PortalException("UNAUTHORIZED_ACCESS: No valid authorization token provided");
+        }
+        return caller;
+    }
+}
@@ -3,6 +3,7 @@ package com.stemlen.jwt;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,6 +12,9 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.stemlen.service.MentorIdCache;
+
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
@@ -25,17 +29,38 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 	
 	@Autowired
 	private UserDetailsService userDetailsService;
+	
+	@Autowired
+	private TokenRevocationList revocationList;
+	
+	@Autowired
+	private MentorIdCache mentorIdCache;
+	
+	// Build the user from JWT claims instead of loading it from Mongo on every request
+	@Value("${stemlen.auth.stateless:false}")
+	private boolean stateless;
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		String requestHeader=request.getHeader("Authorization");
 		String username=null;
-		String token=null;
+		JwtClaimsPrincipal principal=null;
 		if (requestHeader!=null && requestHeader.startsWith("Bearer")) {
-			token=requestHeader.substring(7);
+			String token=requestHeader.substring(7);
 			try {
-				username=this.jwtHelper.getUsernameFromToken(token);
+				// Parsed and verified once per request (cached across requests)
+				Claims claims=this.jwtHelper.verifyToken(token);
+				// A revoked token is simply left unauthenticated; nothing is logged per request
+				if (!revocationList.isRevoked(claims.getSubject(), claims.getIssuedAt())) {
+					username=claims.getSubject();
+					principal=new JwtClaimsPrincipal(claims);
+					request.setAttribute(JwtClaimsPrincipal.REQUEST_ATTRIBUTE, principal);
+					// Resolved here once so controllers don't repeat the user/mentor lookups
+					request.setAttribute(CallerContext.REQUEST_ATTRIBUTE, new CallerContext(principal.getUserId(),
+							principal.getEmail(), principal.getProfileId(), principal.getAccountType(),
+							mentorIdCache.getMentorId(principal.getEmail(), principal.getProfileId())));
+				}
 			} catch (IllegalArgumentException e) {
 				e.printStackTrace();
 			}
@@ -50,9 +75,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 			}
 		}
 		if (username!=null && SecurityContextHolder.getContext().getAuthentication()==null) {
-			UserDetails userDetails =this.userDetailsService.loadUserByUsername(username);
-			Boolean validateToken=this.jwtHelper.validateToken(token, userDetails.getUsername());
-			if (validateToken) {
+			UserDetails userDetails =stateless ? principal.toUserDetails()
+					: this.userDetailsService.loadUserByUsername(username);
+			// Signature and expiry were checked by verifyToken; only the subject needs to match
+			if (username.equals(userDetails.getUsername())) {
 				UsernamePasswordAuthenticationToken authentication=new UsernamePasswordAuthenticationToken
 				(userDetails,null,userDetails.getAuthorities());
 				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,96 @@
+package com.stemlen.jwt;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import com.stemlen.dto.AccountType;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Verified JWT claims for the current request, published by {@link JwtAuthFilter} as a
+ * request attribute so controllers can read the caller without parsing the token again.
+ */
+public class JwtClaimsPrincipal {
+
+    public static final String REQUEST_ATTRIBUTE = JwtClaimsPrincipal.class.getName();
+
+    private final Long userId;
+    private final String email;
+    private final String name;
+    private final Long profileId;
+    private final String accountType;
+    private final boolean emailVerified;
+    private final Date issuedAt;
+    private final Date expiresAt;
+
+    public JwtClaimsPrincipal(Claims claims) {
+        this.userId = toLong(claims.get("id"));
+        this.email = claims.getSubject();
+        this.name = claims.get("name", String.class);
+        this.profileId = toLong(claims.get("profileId"));
+        Object type = claims.get("accountType");
+        this.accountType = type != null ? type.toString() : null;
+        // Tokens are only issued to verified users, and older tokens predate this claim
+        Boolean verified = claims.get("emailVerified", Boolean.class);
+        this.emailVerified = verified == null || verified;
+        this.issuedAt = claims.getIssuedAt();
+        this.expiresAt = claims.getExpiration();
+    }
+
+    /**
+     * @return the principal for this request, or null if it was not authenticated with a JWT
+     */
+    public static JwtClaimsPrincipal from(HttpServletRequest request) {
+        Object principal = request.getAttribute(REQUEST_ATTRIBUTE);
+        return principal instanceof JwtClaimsPrincipal claims ? claims : null;
+    }
+
+    /**
+     * Builds the authenticated user from the claims alone (no password; never used for login).
+     */
+    public CustomUserDetails toUserDetails() {
+        AccountType type = accountType != null ? AccountType.valueOf(accountType) : null;
+        return new CustomUserDetails(userId, email, name, null, profileId, type, new ArrayList<>(), emailVerified);
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return value != null ? Long.valueOf(value.toString()) : null;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getProfileId() {
+        return profileId;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public boolean isEmailVerified() {
+        return emailVerified;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -14,8 +14,29 @@ import java.util.function.Function;
 @Component  // 🔹 Add this annotation
 public class JwtHelper {
     private static final String SECRET = "your-256-bit-secret-your-256-bit-secret"; // Consider using env variables
-    private static final long JWT_TOKEN_VALIDITY = 1000L * 60 * 60 * 24 * 90; // (3 months)
+    static final long JWT_TOKEN_VALIDITY = 1000L * 60 * 60 * 24 * 90; // (3 months)
     private static final Key SECRET_KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private static final int VERIFIED_CACHE_SIZE = 10_000;
+    private static final long VERIFIED_CACHE_TTL = 1000L * 60 * 10; // 10 minutes
+
+    // JwtParser is immutable and thread-safe, so one instance is shared by every request
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
+    private final VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(VERIFIED_CACHE_SIZE, VERIFIED_CACHE_TTL);
+
+    /**
+     * Verifies the token once and returns its claims. Already-verified tokens are served from a
+     * bounded cache, so the HMAC check runs once per token rather than on every request.
+     *
+     * @throws JwtException if the token is malformed, has a bad signature or has expired
+     */
+    public Claims verifyToken(String token) {
+        Claims claims = verifiedTokens.get(token);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
 
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
@@ -31,11 +52,7 @@ public class JwtHelper {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verifyToken(token);
     }
 
     private Boolean isTokenExpired(String token) {
@@ -50,6 +67,7 @@ public class JwtHelper {
     	claims.put("name", customUser.getName());
     	claims.put("profileId", customUser.getProfileId());
     	claims.put("accountType", customUser.getAccountType());
+    	claims.put("emailVerified", customUser.isEmailVerified());
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -64,7 +82,7 @@ public class JwtHelper {
     }
 
     public boolean validateToken(String token, String username) {
-        final String extractedUsername = getUsernameFromToken(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = verifyToken(token);
+        return claims.getSubject().equals(username) && !claims.getExpiration().before(new Date());
     }
 }
@@ -3,20 +3,29 @@ package com.stemlen.jwt;
 import java.util.ArrayList;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.stemlen.dto.UserDTO;
+import com.stemlen.entity.User;
 import com.stemlen.exception.PortalException;
 import com.stemlen.service.UserService;
 
 @Service
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 	
 	@Autowired
 	private UserService userService;
+	
+	@Autowired
+	private MongoOperations mongoOperations;
 
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -29,5 +38,17 @@ public class MyUserDetailsService implements UserDetailsService {
 	    }
 	}
 
-
+	// Called by DaoAuthenticationProvider after a successful login when the stored hash uses an
+	// outdated BCrypt cost (see BoundedPasswordEncoder.upgradeEncoding)
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		// Only the hash is written, so a concurrent profile or OTP update is not overwritten
+		mongoOperations.updateFirst(Query.query(Criteria.where("email").is(user.getUsername())),
+				new Update().set("password", newPassword), User.class);
+		if (user instanceof CustomUserDetails custom) {
+			custom.setPassword(newPassword);
+			return custom;
+		}
+		return user;
+	}
 }
@@ -0,0 +1,92 @@
+package com.stemlen.jwt;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.entity.TokenRevocation;
+import com.stemlen.repository.TokenRevocationRepository;
+
+/**
+ * In-memory copy of the token_revocations collection, so revocation checks on authenticated
+ * requests never touch Mongo. Each node pulls changed entries on a fixed delay; a revocation
+ * made on this node applies immediately, on other nodes within one refresh interval.
+ */
+@Component
+public class TokenRevocationList {
+
+	@Autowired
+	private TokenRevocationRepository revocationRepository;
+
+	// JWT subject (email) -> tokens issued before this instant (epoch millis) are revoked
+	private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+	private volatile LocalDateTime lastRefresh;
+
+	/**
+	 * Revokes every token issued for the user up to now.
+	 */
+	public void revokeUser(Long userId, String email) {
+		// iat has second precision, so a token issued later in this second stays valid
+		LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+		revocationRepository.save(new TokenRevocation(email, userId, now, LocalDateTime.now()));
+		notBefore.merge(email, toMillis(now), Math::max);
+	}
+
+	public boolean isRevoked(String subject, Date issuedAt) {
+		Long cutoff = notBefore.get(subject);
+		if (cutoff == null) {
+			return false;
+		}
+		return issuedAt == null || issuedAt.getTime() < cutoff;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadAll() {
+		// Older cut-offs cannot affect a token that has not yet expired
+		LocalDateTime oldestLiveToken = LocalDateTime.now().minus(JwtHelper.JWT_TOKEN_VALIDITY, ChronoUnit.MILLIS);
+		LocalDateTime startedAt = LocalDateTime.now();
+		try {
+			revocationRepository.findByNotBeforeAfter(oldestLiveToken).forEach(this::apply);
+			lastRefresh = startedAt;
+			System.out.println("🔐 Loaded " + notBefore.size() + " token revocations");
+		} catch (Exception e) {
+			System.err.println("❌ Failed to load token revocations: " + e.getMessage());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${stemlen.auth.revocation-refresh-ms:30000}")
+	public void refresh() {
+		if (lastRefresh == null) {
+			loadAll();
+			return;
+		}
+		// Overlap by a few seconds so writes racing the previous refresh are not missed
+		LocalDateTime since = lastRefresh.minusSeconds(5);
+		LocalDateTime startedAt = LocalDateTime.now();
+		try {
+			revocationRepository.findByUpdatedAtAfter(since).forEach(this::apply);
+			lastRefresh = startedAt;
+		} catch (Exception e) {
+			System.err.println("❌ Failed to refresh token revocations: " + e.getMessage());
+		}
+	}
+
+	private void apply(TokenRevocation revocation) {
+		if (revocation.getEmail() != null && revocation.getNotBefore() != null) {
+			notBefore.merge(revocation.getEmail(), toMillis(revocation.getNotBefore()), Math::max);
+		}
+	}
+
+	private static long toMillis(LocalDateTime time) {
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+}
@@ -0,0 +1,91 @@
+package com.stemlen.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.stemlen.utility.Utilities;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Bounded cache of already-verified JWT claims, keyed by the SHA-256 of the token so raw
+ * tokens are never kept in memory. Lookups are lock-free; an entry never outlives the token's
+ * own expiry, and is also dropped after a short TTL so changes such as revocations are picked up.
+ *
+ * When the cache overflows, one thread drops expired entries and, if that is not enough, a
+ * bounded batch of arbitrary ones, so a full cache never forces every token to re-verify at once.
+ */
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final int evictBatch;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public VerifiedTokenCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.evictBatch = Math.max(1, maxEntries / 10);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return the cached claims, or null if the token is not cached or its entry has expired
+     */
+    public Claims get(String token) {
+        String key = keyOf(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims;
+    }
+
+    public void put(String token, Claims claims) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        entries.put(keyOf(token), new Entry(claims, expiresAt));
+        if (entries.size() > maxEntries && evicting.compareAndSet(false, true)) {
+            try {
+                evict(now);
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    // Expired entries first; then arbitrary ones until a batch's worth of room is free
+    private void evict(long now) {
+        int target = maxEntries - evictBatch;
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String keyOf(String token) {
+        return Utilities.sha256Hex(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
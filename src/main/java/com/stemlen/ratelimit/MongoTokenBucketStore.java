@@ -0,0 +1,88 @@
+package com.stemlen.ratelimit;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.entity.RateLimitBucket;
+
+/**
+ * Token buckets in the rate_limit_buckets collection, so a limit holds across all nodes.
+ * Each take is a compare-and-set on (tokens, updatedAt); on repeated contention or a Mongo
+ * error the request is let through rather than failing the API.
+ */
+@Component
+@ConditionalOnProperty(name = "stemlen.rate-limit.mode", havingValue = "mongo")
+public class MongoTokenBucketStore implements TokenBucketStore {
+
+    private static final int MAX_RETRIES = 5;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    private final LongAdder casRetries = new LongAdder();
+    private final LongAdder failOpen = new LongAdder();
+
+    @Override
+    public long tryConsume(String key, RateLimitProperties.Policy policy) {
+        try {
+            for (int attempt = 0; attempt < MAX_RETRIES; attempt++) {
+                long now = System.currentTimeMillis();
+                RateLimitBucket bucket = mongoOperations.findById(key, RateLimitBucket.class);
+                if (bucket == null) {
+                    try {
+                        mongoOperations.insert(new RateLimitBucket(key, policy.getCapacity() - 1d, now, expireAt(policy, now)));
+                        return 0L;
+                    } catch (DuplicateKeyException e) {
+                        casRetries.increment();
+                        continue; // created concurrently
+                    }
+                }
+                double tokens = TokenBucketStore.refill(bucket.getTokens(), now - bucket.getUpdatedAt(), policy);
+                if (tokens < 1d) {
+                    return TokenBucketStore.waitMillis(tokens, policy);
+                }
+                long modified = mongoOperations.updateFirst(
+                        Query.query(Criteria.where("_id").is(key)
+                                .and("tokens").is(bucket.getTokens())
+                                .and("updatedAt").is(bucket.getUpdatedAt())),
+                        new Update().set("tokens", tokens - 1d).set("updatedAt", now).set("expireAt", expireAt(policy, now)),
+                        RateLimitBucket.class).getModifiedCount();
+                if (modified == 1) {
+                    return 0L;
+                }
+                casRetries.increment();
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Rate limit store unavailable, allowing request: " + e.getMessage());
+        }
+        failOpen.increment();
+        return 0L;
+    }
+
+    // When an untouched bucket has refilled completely it no longer needs to be stored
+    private static Date expireAt(RateLimitProperties.Policy policy, long now) {
+        double rate = policy.refillPerMilli();
+        long fullAfter = rate > 0 ? (long) Math.ceil(policy.getCapacity() / rate) : 86_400_000L;
+        return new Date(now + fullAfter);
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("mode", "mongo");
+        metrics.put("casRetries", casRetries.sum());
+        metrics.put("failOpen", failOpen.sum());
+        return metrics;
+    }
+}
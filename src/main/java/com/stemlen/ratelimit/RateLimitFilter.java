@@ -0,0 +1,162 @@
+package com.stemlen.ratelimit;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stemlen.utility.ErrorInfo;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the stemlen.rate-limit policies before authentication. A request matching a policy
+ * takes one token per configured key (client IP, email); if any bucket is empty it gets a 429
+ * with Retry-After and never reaches BCrypt, SMTP or the booking code.
+ *
+ * The email comes from an {email} path variable, an email/menteeEmail parameter or, for small
+ * JSON bodies, the "email" field (the body is buffered so the controller can still read it).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BUFFERED_BODY = 8 * 1024;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private TokenBucketStore bucketStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, LongAdder[]> policyCounters = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled() || properties.getPolicies().isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        HttpServletRequest current = request;
+
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : properties.getPolicies().entrySet()) {
+            RateLimitProperties.Policy policy = entry.getValue();
+            String pattern = matchingPattern(policy, path);
+            if (pattern == null) {
+                continue;
+            }
+            LongAdder[] counters = policyCounters.computeIfAbsent(entry.getKey(), k -> new LongAdder[] { new LongAdder(), new LongAdder() });
+            for (String keyType : policy.getKeys()) {
+                String value;
+                if ("email".equals(keyType)) {
+                    if (isSmallJsonBody(current) && !(current instanceof CachedBodyHttpServletRequest)) {
+                        current = new CachedBodyHttpServletRequest(current);
+                    }
+                    value = resolveEmail(current, pattern, path);
+                } else {
+                    value = request.getRemoteAddr();
+                }
+                if (value == null || value.isBlank()) {
+                    continue;
+                }
+                long waitMillis = bucketStore.tryConsume(entry.getKey() + ":" + keyType + ":" + value, policy);
+                if (waitMillis > 0) {
+                    counters[1].increment();
+                    reject(response, waitMillis);
+                    return;
+                }
+            }
+            counters[0].increment();
+        }
+        filterChain.doFilter(current, response);
+    }
+
+    private String matchingPattern(RateLimitProperties.Policy policy, String path) {
+        for (String pattern : policy.getPatterns()) {
+            if (pathMatcher.match(pattern, path)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSmallJsonBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        long length = request.getContentLengthLong();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON_VALUE)
+                && length >= 0 && length <= MAX_BUFFERED_BODY;
+    }
+
+    private String resolveEmail(HttpServletRequest request, String pattern, String path) {
+        String email = pathMatcher.extractUriTemplateVariables(pattern, path).get("email");
+        if (email == null) {
+            email = request.getParameter("email");
+        }
+        if (email == null) {
+            email = request.getParameter("menteeEmail");
+        }
+        if (email == null && request instanceof CachedBodyHttpServletRequest cached && cached.getBody().length > 0) {
+            try {
+                JsonNode node = objectMapper.readTree(cached.getBody()).get("email");
+                email = node != null && node.isTextual() ? node.asText() : null;
+            } catch (IOException e) {
+                return null; // malformed body; the controller will reject it
+            }
+        }
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1L, (waitMillis + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorInfo error = new ErrorInfo(
+            environment.getProperty("RATE_LIMITED", "Too many requests."),
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            LocalDateTime.now()
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Allowed/rejected counts per policy on this node, plus bucket store details.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", properties.isEnabled());
+        policyCounters.forEach((policy, counters) -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("allowed", counters[0].sum());
+            counts.put("rejected", counters[1].sum());
+            metrics.put(policy, counts);
+        });
+        metrics.put("store", bucketStore.getMetrics());
+        return metrics;
+    }
+}
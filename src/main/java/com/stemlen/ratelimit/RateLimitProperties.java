@@ -0,0 +1,50 @@
+package com.stemlen.ratelimit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * stemlen.rate-limit.* settings. Each policy is a token bucket applied to the requests
+ * matching its patterns, once per key (client IP and/or email).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "stemlen.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // local = per-node striped buckets, mongo = buckets shared by all nodes
+    private String mode = "local";
+
+    // Number of lock stripes for local buckets
+    private int stripes = 64;
+
+    // Idle buckets kept per stripe before full ones are evicted
+    private int maxBucketsPerStripe = 4096;
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+        // Ant-style paths; a {email} path variable is used as the email key
+        private List<String> patterns = new ArrayList<>();
+        // Burst size
+        private int capacity = 10;
+        // Sustained rate
+        private double refillPerMinute = 10;
+        // Any of: ip, email
+        private List<String> keys = List.of("ip");
+
+        double refillPerMilli() {
+            return refillPerMinute / 60_000d;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.stemlen.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-node token buckets. Keys are spread over a fixed number of lock stripes, so requests for
+ * different clients rarely contend and no global lock is taken.
+ */
+@Component
+@ConditionalOnProperty(name = "stemlen.rate-limit.mode", havingValue = "local", matchIfMissing = true)
+public class StripedTokenBucketStore implements TokenBucketStore {
+
+    private final Stripe[] stripes;
+    private final int maxBucketsPerStripe;
+
+    @Autowired
+    public StripedTokenBucketStore(RateLimitProperties properties) {
+        this.stripes = new Stripe[Math.max(1, properties.getStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxBucketsPerStripe = Math.max(16, properties.getMaxBucketsPerStripe());
+    }
+
+    @Override
+    public long tryConsume(String key, RateLimitProperties.Policy policy) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        long now = System.currentTimeMillis();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxBucketsPerStripe) {
+                    evictFull(stripe, now);
+                }
+                bucket = new Bucket(policy, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.tokens = TokenBucketStore.refill(bucket.tokens, now - bucket.updatedAt, policy);
+                bucket.updatedAt = now;
+            }
+            if (bucket.tokens >= 1d) {
+                bucket.tokens -= 1d;
+                return 0L;
+            }
+            return TokenBucketStore.waitMillis(bucket.tokens, policy);
+        }
+    }
+
+    // A bucket that would be full again carries no state and can be dropped
+    private void evictFull(Stripe stripe, long now) {
+        Iterator<Bucket> it = stripe.buckets.values().iterator();
+        while (it.hasNext()) {
+            Bucket bucket = it.next();
+            if (TokenBucketStore.refill(bucket.tokens, now - bucket.updatedAt, bucket.policy) >= bucket.policy.getCapacity()) {
+                it.remove();
+            }
+        }
+        // Still full of active clients: drop the oldest half rather than grow without bound
+        if (stripe.buckets.size() >= maxBucketsPerStripe) {
+            int toDrop = stripe.buckets.size() / 2;
+            Iterator<Map.Entry<String, Bucket>> oldest = stripe.buckets.entrySet().iterator();
+            while (toDrop-- > 0 && oldest.hasNext()) {
+                oldest.next();
+                oldest.remove();
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        int buckets = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                buckets += stripe.buckets.size();
+            }
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("mode", "local");
+        metrics.put("stripes", stripes.length);
+        metrics.put("buckets", buckets);
+        return metrics;
+    }
+
+    private static final class Stripe {
+        // Insertion order doubles as a rough age order for eviction
+        private final Map<String, Bucket> buckets = new LinkedHashMap<>();
+    }
+
+    private static final class Bucket {
+        private final RateLimitProperties.Policy policy;
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(RateLimitProperties.Policy policy, long now) {
+            this.policy = policy;
+            this.tokens = policy.getCapacity();
+            this.updatedAt = now;
+        }
+    }
+}
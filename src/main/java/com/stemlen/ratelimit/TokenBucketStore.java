@@ -0,0 +1,36 @@
+package com.stemlen.ratelimit;
+
+import java.util.Map;
+
+/**
+ * Token buckets keyed by "policy:keyType:value".
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Takes one token from the bucket.
+     *
+     * @return 0 if the request is allowed, otherwise milliseconds until a token is available
+     */
+    long tryConsume(String key, RateLimitProperties.Policy policy);
+
+    Map<String, Object> getMetrics();
+
+    /**
+     * Refills a bucket that had {@code tokens} left {@code elapsedMillis} ago.
+     */
+    static double refill(double tokens, long elapsedMillis, RateLimitProperties.Policy policy) {
+        return Math.min(policy.getCapacity(), tokens + Math.max(0L, elapsedMillis) * policy.refillPerMilli());
+    }
+
+    /**
+     * Time until a bucket holding {@code tokens} has a whole token again.
+     */
+    static long waitMillis(double tokens, RateLimitProperties.Policy policy) {
+        double rate = policy.refillPerMilli();
+        if (rate <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(1L, (long) Math.ceil((1d - tokens) / rate));
+    }
+}
@@ -15,6 +15,9 @@ public interface AvailabilityTemplateRepository extends MongoRepository<Availabi
     // Find active templates by mentor
     List<AvailabilityTemplate> findByMentorIdAndIsActiveTrue(Long mentorId);
     
+    // Find active templates that are expanded on read
+    List<AvailabilityTemplate> findByMentorIdAndIsActiveTrueAndIsVirtualTrue(Long mentorId);
+    
     // Find default template for mentor
     AvailabilityTemplate findByMentorIdAndIsDefaultTrue(Long mentorId);
     
@@ -0,0 +1,17 @@
+package com.stemlen.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.stemlen.entity.JobApplication;
+
+public interface JobApplicationRepository extends MongoRepository<JobApplication, Long> {
+	List<JobApplication> findByJobId(Long jobId);
+	List<JobApplication> findByJobIdIn(Collection<Long> jobIds);
+	List<JobApplication> findByApplicantId(Long applicantId);
+	Optional<JobApplication> findByJobIdAndApplicantId(Long jobId, Long applicantId);
+	boolean existsByJobIdAndApplicantId(Long jobId, Long applicantId);
+}
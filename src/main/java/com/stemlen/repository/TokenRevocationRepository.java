@@ -0,0 +1,13 @@
+package com.stemlen.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.stemlen.entity.TokenRevocation;
+
+public interface TokenRevocationRepository extends MongoRepository<TokenRevocation, String> {
+	List<TokenRevocation> findByUpdatedAtAfter(LocalDateTime since);
+	List<TokenRevocation> findByNotBeforeAfter(LocalDateTime since);
+}
@@ -59,12 +59,9 @@ public interface TrialSessionRepository extends MongoRepository<TrialSession, Lo
            "'scheduledDateTime': {$gte: ?1, $lte: ?2}}")
     List<TrialSession> findConflictingSessions(Long mentorId, LocalDateTime startTime, LocalDateTime endTime);
     
-    // Find sessions by time pattern (for recurring checks)
-    @Query("{'mentorId': ?0, '$expr': {$and: [" +
-           "{$gte: [{$hour: '$scheduledDateTime'}, ?1]}, " +
-           "{$lte: [{$hour: '$scheduledDateTime'}, ?2]}, " +
-           "{$in: [{$dayOfWeek: '$scheduledDateTime'}, ?3]}" +
-           "]}}")
+    // Find sessions by time pattern (for recurring checks), served by the (mentorId, localDayOfWeek, localHour) index.
+    // Hours and days are in the session's time zone; days are 1=Monday, 7=Sunday.
+    @Query("{'mentorId': ?0, 'localDayOfWeek': {$in: ?3}, 'localHour': {$gte: ?1, $lte: ?2}}")
     List<TrialSession> findByMentorIdAndTimePattern(Long mentorId, Integer startHour, Integer endHour, List<Integer> daysOfWeek);
     
     // Find sessions that need confirmation
@@ -0,0 +1,38 @@
+package com.stemlen.search;
+
+import java.util.List;
+
+import com.stemlen.dto.JobSummaryDTO;
+
+/**
+ * Exact-value facet filters; an empty list means "any". Values are compared case-insensitively.
+ */
+public class JobSearchFilters {
+
+    private final List<String> jobTypes;
+    private final List<String> locations;
+    private final List<String> experience;
+    private final List<String> skills;
+
+    public JobSearchFilters(List<String> jobTypes, List<String> locations, List<String> experience, List<String> skills) {
+        this.jobTypes = jobTypes;
+        this.locations = locations;
+        this.experience = experience;
+        this.skills = skills;
+    }
+
+    boolean matches(JobSummaryDTO job) {
+        return anyOf(jobTypes, job.getJobType())
+                && anyOf(locations, job.getLocation())
+                && anyOf(experience, job.getExperience())
+                && (skills == null || skills.isEmpty() || (job.getSkillsRequired() != null
+                        && job.getSkillsRequired().stream().anyMatch(skill -> anyOf(skills, skill))));
+    }
+
+    private static boolean anyOf(List<String> wanted, String value) {
+        if (wanted == null || wanted.isEmpty()) {
+            return true;
+        }
+        return value != null && wanted.stream().anyMatch(value::equalsIgnoreCase);
+    }
+}
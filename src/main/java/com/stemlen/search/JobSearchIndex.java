@@ -0,0 +1,285 @@
+package com.stemlen.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.dto.JobSearchResultDTO;
+import com.stemlen.dto.JobStatus;
+import com.stemlen.dto.JobSummaryDTO;
+import com.stemlen.entity.Job;
+
+/**
+ * In-memory inverted index over ACTIVE jobs, ranked with BM25.
+ *
+ * Fields are weighted into the term frequency (title counts more than description). Terms are
+ * kept in a TreeMap so the last query word can be matched as a prefix (search-as-you-type).
+ * JobServiceImpl updates the index on every postJob; the whole index is rebuilt from a Mongo
+ * cursor after startup.
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_TERMS = 50;
+    private static final int MAX_FACET_VALUES = 20;
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double SKILL_WEIGHT = 2.5;
+    private static final double COMPANY_WEIGHT = 2.0;
+    private static final double LOCATION_WEIGHT = 1.5;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    private final Map<Long, IndexedJob> jobs = new HashMap<>();
+    private double totalLength;
+
+    // Jobs written by postJob while a rebuild is streaming; the rebuild must not overwrite them
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        touchedDuringRebuild.clear();
+        rebuilding = true;
+        long count = 0;
+        Query query = new Query(Criteria.where("jobStatus").is(JobStatus.ACTIVE));
+        query.fields().include(Job.SUMMARY_FIELDS).include("description");
+        try (Stream<Job> stream = mongoOperations.stream(query, Job.class)) {
+            for (Job job : (Iterable<Job>) stream::iterator) {
+                if (!touchedDuringRebuild.contains(job.getId())) {
+                    put(job);
+                    count++;
+                }
+            }
+            System.out.println("🔎 Job search index built with " + count + " jobs");
+        } catch (Exception e) {
+            System.err.println("❌ Job search index rebuild failed after " + count + " jobs: " + e.getMessage());
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * Adds, replaces or (for non-ACTIVE jobs) removes the job.
+     */
+    public void index(Job job) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(job.getId());
+        }
+        if (job.getJobStatus() == JobStatus.ACTIVE) {
+            put(job);
+        } else {
+            remove(job.getId());
+        }
+    }
+
+    public void remove(Long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Job job) {
+        Map<String, Double> termFreqs = new HashMap<>();
+        addField(termFreqs, job.getJobTitle(), TITLE_WEIGHT);
+        addField(termFreqs, job.getCompany(), COMPANY_WEIGHT);
+        addField(termFreqs, job.getLocation(), LOCATION_WEIGHT);
+        addField(termFreqs, job.getDescription(), DESCRIPTION_WEIGHT);
+        if (job.getSkillsRequired() != null) {
+            job.getSkillsRequired().forEach(skill -> addField(termFreqs, skill, SKILL_WEIGHT));
+        }
+        double length = termFreqs.values().stream().mapToDouble(Double::doubleValue).sum();
+        IndexedJob indexed = new IndexedJob(job.toSummaryDTO(), termFreqs.keySet(), length);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            termFreqs.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(job.getId(), tf));
+            jobs.put(job.getId(), indexed);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long jobId) {
+        IndexedJob old = jobs.remove(jobId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.terms) {
+            Map<Long, Double> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(jobId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= old.length;
+    }
+
+    private static void addField(Map<String, Double> termFreqs, String text, double weight) {
+        for (String term : JobTokenizer.tokenize(text)) {
+            termFreqs.merge(term, weight, Double::sum);
+        }
+    }
+
+    /**
+     * Ranks ACTIVE jobs against the query. Words match any job containing them; the last word
+     * also matches as a prefix. A blank query returns every job passing the filters, newest
+     * first. Facet counts cover all matches, not just the returned page.
+     */
+    public JobSearchResultDTO search(String queryText, JobSearchFilters filters, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = score(queryText);
+            List<Map.Entry<Long, Double>> matches = new ArrayList<>();
+            JobSearchResultDTO result = new JobSearchResultDTO();
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            for (String facet : List.of("jobType", "location", "experience", "skills")) {
+                facets.put(facet, new HashMap<>());
+            }
+
+            Iterable<Map.Entry<Long, Double>> candidates = scores != null ? scores.entrySet()
+                    : jobs.keySet().stream().map(id -> Map.entry(id, 0d)).toList();
+            for (Map.Entry<Long, Double> candidate : candidates) {
+                JobSummaryDTO job = jobs.get(candidate.getKey()).summary;
+                if (!filters.matches(job)) {
+                    continue;
+                }
+                matches.add(candidate);
+                count(facets.get("jobType"), job.getJobType());
+                count(facets.get("location"), job.getLocation());
+                count(facets.get("experience"), job.getExperience());
+                if (job.getSkillsRequired() != null) {
+                    job.getSkillsRequired().forEach(skill -> count(facets.get("skills"), skill));
+                }
+            }
+
+            Comparator<Map.Entry<Long, Double>> newestFirst = Comparator.comparing(
+                    (Map.Entry<Long, Double> e) -> jobs.get(e.getKey()).summary.getPostTime(),
+                    Comparator.nullsLast(Comparator.reverseOrder()));
+            matches.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(newestFirst));
+
+            result.setTotal((long) matches.size());
+            matches.stream().skip(offset).limit(limit).forEach(match -> result.getHits().add(
+                    new JobSearchResultDTO.Hit(jobs.get(match.getKey()).summary, match.getValue())));
+            facets.forEach((name, values) -> result.getFacets().put(name, topValues(values)));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // BM25 score per matching job; null for a blank query (no ranking, everything matches)
+    private Map<Long, Double> score(String queryText) {
+        if (queryText == null || queryText.isBlank()) {
+            return null;
+        }
+        List<String> words = List.of(queryText.trim().split("\\s+"));
+        Map<Long, Double> scores = new HashMap<>();
+        double docCount = jobs.size();
+        double avgLength = docCount > 0 ? totalLength / docCount : 1d;
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            String term = JobTokenizer.normalize(words.get(i));
+            if (term == null) {
+                continue;
+            }
+            List<String> terms = new ArrayList<>();
+            terms.add(term);
+            if (i == words.size() - 1) {
+                terms.addAll(prefixTerms(words.get(i)));
+            }
+            for (String t : terms) {
+                Map<Long, Double> docs = postings.get(t);
+                if (docs == null || !seen.add(t)) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                docs.forEach((jobId, tf) -> {
+                    double norm = tf + K1 * (1 - B + B * jobs.get(jobId).length / avgLength);
+                    scores.merge(jobId, idf * tf * (K1 + 1) / norm, Double::sum);
+                });
+            }
+        }
+        return scores;
+    }
+
+    // Indexed terms starting with the raw (unstemmed) word, e.g. "dev" -> developer, devops
+    private List<String> prefixTerms(String word) {
+        String prefix = word.toLowerCase();
+        if (prefix.length() < 2) {
+            return List.of();
+        }
+        SortedMap<String, Map<Long, Double>> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        return range.keySet().stream().limit(MAX_PREFIX_TERMS).toList();
+    }
+
+    private static void count(Map<String, Long> values, String value) {
+        if (value != null && !value.isBlank()) {
+            values.merge(value, 1L, Long::sum);
+        }
+    }
+
+    private static Map<String, Long> topValues(Map<String, Long> values) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(MAX_FACET_VALUES)
+                .forEach(e -> top.put(e.getKey(), e.getValue()));
+        return top;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return jobs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class IndexedJob {
+        private final JobSummaryDTO summary;
+        private final Set<String> terms;
+        private final double length;
+
+        private IndexedJob(JobSummaryDTO summary, Set<String> terms, double length) {
+            this.summary = summary;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
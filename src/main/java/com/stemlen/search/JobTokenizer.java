@@ -0,0 +1,86 @@
+package com.stemlen.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lowercase, lightly stemmed terms for the job search index. "+" and "#"
+ * are kept inside tokens so skills such as c++ and c# stay searchable.
+ */
+public final class JobTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of",
+        "on", "or", "our", "that", "the", "to", "we", "will", "with", "you", "your");
+
+    private JobTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        StringBuilder current = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || ((c == '+' || c == '#') && current.length() > 0)) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                String token = current.toString();
+                current.setLength(0);
+                if (!STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Normalises a single query word the same way as indexed text, or returns null for a
+     * stop word or an empty word.
+     */
+    public static String normalize(String word) {
+        List<String> terms = tokenize(word);
+        return terms.isEmpty() ? null : terms.get(0);
+    }
+
+    /**
+     * Light suffix stripping (plurals, -ing, -ed): enough to match "developers" with "developer"
+     * and "testing" with "test" without the false merges of an aggressive stemmer.
+     */
+    static String stem(String word) {
+        int n = word.length();
+        if (n <= 3 || !Character.isLetter(word.charAt(n - 1))) {
+            return word;
+        }
+        String w = word;
+        if (w.endsWith("ies") && n > 4) {
+            w = w.substring(0, n - 3) + "y";
+        } else if (w.endsWith("sses")) {
+            w = w.substring(0, n - 2);
+        } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is")) {
+            w = w.substring(0, n - 1);
+        }
+        if (w.endsWith("ing") && w.length() > 5) {
+            w = undouble(w.substring(0, w.length() - 3));
+        } else if (w.endsWith("ed") && w.length() > 4) {
+            w = undouble(w.substring(0, w.length() - 2));
+        }
+        return w;
+    }
+
+    // "running" -> "runn" -> "run"
+    private static String undouble(String w) {
+        int n = w.length();
+        if (n >= 2 && w.charAt(n - 1) == w.charAt(n - 2) && "lsz".indexOf(w.charAt(n - 1)) < 0
+                && "aeiou".indexOf(w.charAt(n - 1)) < 0) {
+            return w.substring(0, n - 1);
+        }
+        return w;
+    }
+}
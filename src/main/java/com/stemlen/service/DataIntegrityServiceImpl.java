@@ -1,9 +1,10 @@
 package com.stemlen.service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import com.stemlen.dto.MentorshipPackageDTO;
@@ -11,6 +12,7 @@ import com.stemlen.entity.MentorshipPackage;
 import com.stemlen.exception.PortalException;
 import com.stemlen.repository.MentorRepository;
 import com.stemlen.repository.MentorshipPackageRepository;
+import com.stemlen.utility.OrphanScanner;
 
 @Service("dataIntegrityService")
 public class DataIntegrityServiceImpl implements DataIntegrityService {
@@ -21,22 +23,16 @@ public class DataIntegrityServiceImpl implements DataIntegrityService {
     @Autowired
     private MentorshipPackageRepository packageRepository;
     
+    @Autowired
+    private OrphanScanner orphanScanner;
+    
     @Override
     public List<MentorshipPackageDTO> findOrphanedPackages() throws PortalException {
-        List<MentorshipPackage> allPackages = packageRepository.findAll();
-        List<MentorshipPackage> orphanedPackages = allPackages.stream()
-                .filter(pkg -> {
-                    // Check if the mentorId exists in the mentor collection
-                    if (pkg.getMentorId() == null) {
-                        return true; // Packages without mentorId are orphaned
-                    }
-                    return !mentorRepository.existsById(pkg.getMentorId());
-                })
-                .toList();
-                
-        return orphanedPackages.stream()
-                .map(MentorshipPackage::toDTO)
-                .toList();
+        // Packages without mentorId, or whose mentor no longer exists, are orphaned
+        List<MentorshipPackageDTO> orphanedPackages = new ArrayList<>();
+        orphanScanner.forEachOrphan(MentorshipPackage.class, MentorshipPackage::getMentorId, 
+            pkg -> orphanedPackages.add(pkg.toDTO()));
+        return orphanedPackages;
     }
     
     @Override
@@ -49,29 +45,19 @@ public class DataIntegrityServiceImpl implements DataIntegrityService {
     
     @Override
     public int fixOrphanedPackages(boolean deleteOrphaned) throws PortalException {
-        List<MentorshipPackageDTO> orphanedPackages = findOrphanedPackages();
-        int processedCount = 0;
-        
-        for (MentorshipPackageDTO packageDTO : orphanedPackages) {
-            if (deleteOrphaned) {
-                // Delete orphaned package
-                packageRepository.deleteById(packageDTO.getId());
-                processedCount++;
-                System.out.println("🗑️  Deleted orphaned package: " + packageDTO.getPackageName() + " (ID: " + packageDTO.getId() + ")");
-            } else {
-                // Deactivate orphaned package instead of deleting
-                Optional<MentorshipPackage> packageOpt = packageRepository.findById(packageDTO.getId());
-                if (packageOpt.isPresent()) {
-                    MentorshipPackage pkg = packageOpt.get();
-                    pkg.setIsActive(false);
-                    packageRepository.save(pkg);
-                    processedCount++;
-                    System.out.println("⚠️  Deactivated orphaned package: " + packageDTO.getPackageName() + " (ID: " + packageDTO.getId() + ")");
-                }
-            }
+        long processedCount;
+        if (deleteOrphaned) {
+            // Delete orphaned packages
+            processedCount = orphanScanner.deleteOrphans(MentorshipPackage.class, "mentorId");
+            System.out.println("🗑️  Deleted " + processedCount + " orphaned packages");
+        } else {
+            // Deactivate orphaned packages instead of deleting
+            processedCount = orphanScanner.updateOrphans(MentorshipPackage.class, "mentorId", 
+                new Update().set("isActive", false));
+            System.out.println("⚠️  Deactivated " + processedCount + " orphaned packages");
         }
         
-        return processedCount;
+        return (int) processedCount;
     }
     
     @Override
@@ -11,25 +11,20 @@ import com.stemlen.dto.DataValidationReport;
 import com.stemlen.dto.DataValidationReport.ValidationIssue;
 import com.stemlen.entity.MentorshipPackage;
 import com.stemlen.exception.PortalException;
-import com.stemlen.repository.MentorRepository;
-import com.stemlen.repository.MentorshipPackageRepository;
+import com.stemlen.utility.OrphanScanner;
 
 @Service("dataValidationService")
 public class DataValidationServiceImpl implements DataValidationService {
     
     @Autowired
-    private MentorRepository mentorRepository;
-    
-    @Autowired
-    private MentorshipPackageRepository packageRepository;
+    private OrphanScanner orphanScanner;
     
     @Override
     public DataValidationReport validateMentorPackageSync() throws PortalException {
         List<ValidationIssue> issues = new ArrayList<>();
         
-        // Find packages with invalid mentor IDs
-        List<MentorshipPackage> allPackages = packageRepository.findAll();
-        for (MentorshipPackage pkg : allPackages) {
+        // Find packages with invalid mentor IDs (streamed; only orphans are held)
+        orphanScanner.forEachOrphan(MentorshipPackage.class, MentorshipPackage::getMentorId, pkg -> {
             if (pkg.getMentorId() == null) {
                 issues.add(new ValidationIssue(
                     "MISSING_MENTOR_ID",
@@ -39,7 +34,7 @@ public class DataValidationServiceImpl implements DataValidationService {
                     "HIGH",
                     "Delete package or assign valid mentor ID"
                 ));
-            } else if (!mentorRepository.existsById(pkg.getMentorId())) {
+            } else {
                 issues.add(new ValidationIssue(
                     "INVALID_MENTOR_REFERENCE",
                     "MentorshipPackage",
@@ -49,7 +44,7 @@ public class DataValidationServiceImpl implements DataValidationService {
                     "Delete package or correct mentor ID"
                 ));
             }
-        }
+        });
         
         return createReport("MENTOR_PACKAGE_SYNC", issues);
     }
@@ -68,17 +63,8 @@ public class DataValidationServiceImpl implements DataValidationService {
     
     @Override
     public String fixOrphanedMentorshipPackages() throws PortalException {
-        List<MentorshipPackage> allPackages = packageRepository.findAll();
-        List<MentorshipPackage> toDelete = new ArrayList<>();
-        
-        for (MentorshipPackage pkg : allPackages) {
-            if (pkg.getMentorId() == null || !mentorRepository.existsById(pkg.getMentorId())) {
-                toDelete.add(pkg);
-            }
-        }
-        
-        packageRepository.deleteAll(toDelete);
-        return "Deleted " + toDelete.size() + " orphaned mentorship packages";
+        long deleted = orphanScanner.deleteOrphans(MentorshipPackage.class, "mentorId");
+        return "Deleted " + deleted + " orphaned mentorship packages";
     }
     
     @Override
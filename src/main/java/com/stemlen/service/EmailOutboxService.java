@@ -0,0 +1,11 @@
+package com.stemlen.service;
+
+import java.util.Map;
+
+public interface EmailOutboxService {
+
+    // Queues an HTML email for background delivery and returns immediately
+    void enqueue(String to, String subject, String htmlBody);
+
+    Map<String, Object> getMetrics();
+}
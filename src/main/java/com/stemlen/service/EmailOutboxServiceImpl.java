@@ -0,0 +1,43 @@
+package com.stemlen.service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.stemlen.dto.EmailOutboxStatus;
+import com.stemlen.entity.EmailOutboxMessage;
+
+@Service("emailOutboxService")
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Autowired
+    private EmailOutboxWorker worker;
+
+    @Override
+    public void enqueue(String to, String subject, String htmlBody) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = new EmailOutboxMessage(null, to, subject, htmlBody,
+                EmailOutboxStatus.PENDING, 0, now, null, null, now, null);
+        mongoOperations.insert(message);
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (EmailOutboxStatus status : new EmailOutboxStatus[] { EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING, EmailOutboxStatus.DEAD }) {
+            metrics.put(status.name().toLowerCase(), mongoOperations.count(
+                    Query.query(Criteria.where("status").is(status)), EmailOutboxMessage.class));
+        }
+        metrics.putAll(worker.getMetrics());
+        return metrics;
+    }
+}
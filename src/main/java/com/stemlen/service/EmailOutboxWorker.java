@@ -0,0 +1,269 @@
+package com.stemlen.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.dto.EmailOutboxStatus;
+import com.stemlen.entity.EmailOutboxMessage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Drains the email_outbox collection in the background.
+ *
+ * Each poll claims batches with findAndModify (so several app instances can drain the same
+ * outbox) and hands them to a small fixed pool. A batch goes out through one
+ * {@code JavaMailSender.send(MimeMessage...)} call, which reuses a single SMTP connection
+ * for the whole batch. Failed messages are retried with exponential backoff and marked DEAD
+ * after the maximum number of attempts.
+ *
+ * Only {@link JavaMailSender} is used, so pointing spring.mail.host/port at a local SMTP
+ * stand-in (e.g. GreenMail) is enough to exercise it end to end.
+ */
+@Component
+public class EmailOutboxWorker {
+
+    private static final long MAX_BACKOFF_SECONDS = 60 * 60;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Value("${stemlen.mail.outbox.workers:2}")
+    private int workers;
+
+    @Value("${stemlen.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${stemlen.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${stemlen.mail.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${stemlen.mail.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    private ExecutorService pool;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder sendMillisTotal = new LongAdder();
+    private final AtomicLong sendMillisMax = new AtomicLong();
+    private final LongAdder queueMillisTotal = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        // Submissions are capped by inFlight, so the queue never holds more than `workers` batches
+        pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Claimed but unsent messages are picked up again once their lease expires
+        pool.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${stemlen.mail.outbox.poll-ms:2000}")
+    public void drain() {
+        while (inFlight.get() < workers) {
+            List<EmailOutboxMessage> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            inFlight.incrementAndGet();
+            try {
+                pool.execute(() -> {
+                    try {
+                        deliver(batch);
+                    } catch (Exception e) {
+                        System.err.println("❌ Email outbox batch failed: " + e.getMessage());
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                return; // shutting down; the lease expires and another node retries
+            }
+        }
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(EmailOutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(EmailOutboxStatus.SENDING).and("lockedUntil").lt(now)))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update claim = new Update()
+                .set("status", EmailOutboxStatus.SENDING)
+                .set("lockedUntil", now.plusSeconds(leaseSeconds))
+                .inc("attempts", 1);
+
+        List<EmailOutboxMessage> batch = new ArrayList<>();
+        while (batch.size() < batchSize) {
+            EmailOutboxMessage message = mongoOperations.findAndModify(query, claim,
+                    FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+            if (message == null) {
+                break;
+            }
+            batch.add(message);
+        }
+        return batch;
+    }
+
+    private void deliver(List<EmailOutboxMessage> batch) {
+        Map<MimeMessage, EmailOutboxMessage> byMime = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            try {
+                MimeMessage mime = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(mime, true);
+                helper.setTo(message.getTo());
+                helper.setSubject(message.getSubject());
+                helper.setText(message.getHtmlBody(), true);
+                byMime.put(mime, message);
+            } catch (Exception e) {
+                markFailed(message, e);
+            }
+        }
+        if (byMime.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        long start = System.nanoTime();
+        try {
+            mailSender.send(byMime.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            // Connection or authentication failure: nothing in the batch went out
+            Map<Object, Exception> all = new IdentityHashMap<>();
+            byMime.keySet().forEach(mime -> all.put(mime, e));
+            failures = all;
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        batches.increment();
+        sendMillisTotal.add(elapsedMillis);
+        sendMillisMax.accumulateAndGet(elapsedMillis, Math::max);
+
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : byMime.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure != null) {
+                markFailed(entry.getValue(), failure);
+            } else {
+                markSent(entry.getValue());
+            }
+        }
+    }
+
+    private void markSent(EmailOutboxMessage message) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!updateClaimed(message, new Update().set("status", EmailOutboxStatus.SENT).set("sentAt", now)
+                .unset("lockedUntil").unset("lastError"))) {
+            return;
+        }
+        sent.increment();
+        if (message.getCreatedAt() != null) {
+            queueMillisTotal.add(Duration.between(message.getCreatedAt(), now).toMillis());
+        }
+    }
+
+    private void markFailed(EmailOutboxMessage message, Exception error) {
+        int attempts = message.getAttempts() != null ? message.getAttempts() : 1;
+        Update update = new Update().unset("lockedUntil").set("lastError", String.valueOf(error.getMessage()));
+        boolean dead = attempts >= maxAttempts;
+        if (dead) {
+            update.set("status", EmailOutboxStatus.DEAD);
+        } else {
+            update.set("status", EmailOutboxStatus.PENDING).set("nextAttemptAt", LocalDateTime.now().plusSeconds(backoff(attempts)));
+        }
+        if (!updateClaimed(message, update)) {
+            return;
+        }
+        failedAttempts.increment();
+        if (dead) {
+            deadLettered.increment();
+            System.err.println("☠️ Email to " + message.getTo() + " dead-lettered after " + attempts + " attempts: " + error.getMessage());
+        } else {
+            System.err.println("⚠️ Email to " + message.getTo() + " failed (attempt " + attempts + "), will retry: " + error.getMessage());
+        }
+    }
+
+    /**
+     * Records the outcome only while the message is still under this worker's claim. If the lease
+     * ran out and another worker re-claimed it (which bumps attempts), the late result is dropped
+     * so it cannot undo the newer outcome.
+     */
+    private boolean updateClaimed(EmailOutboxMessage message, Update update) {
+        Query claimed = Query.query(Criteria.where("_id").is(message.getId())
+                .and("status").is(EmailOutboxStatus.SENDING)
+                .and("attempts").is(message.getAttempts()));
+        return mongoOperations.updateFirst(claimed, update, EmailOutboxMessage.class).getMatchedCount() > 0;
+    }
+
+    // backoff, 2x backoff, 4x backoff, ... capped at an hour, with up to 20% jitter
+    private long backoff(int attempts) {
+        long delay = Math.min(MAX_BACKOFF_SECONDS, backoffSeconds << Math.min(attempts - 1, 20));
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    /**
+     * Delivery counters for this node since startup.
+     */
+    public Map<String, Object> getMetrics() {
+        long batchCount = batches.sum();
+        long sentCount = sent.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("workers", workers);
+        metrics.put("batchesInFlight", inFlight.get());
+        metrics.put("sent", sentCount);
+        metrics.put("failedAttempts", failedAttempts.sum());
+        metrics.put("deadLettered", deadLettered.sum());
+        metrics.put("batches", batchCount);
+        metrics.put("avgBatchSendMillis", batchCount > 0 ? sendMillisTotal.sum() / batchCount : 0L);
+        metrics.put("maxBatchSendMillis", sendMillisMax.get());
+        metrics.put("avgQueueMillis", sentCount > 0 ? queueMillisTotal.sum() / sentCount : 0L);
+        return metrics;
+    }
+}
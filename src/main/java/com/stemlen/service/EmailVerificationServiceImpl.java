@@ -3,11 +3,7 @@ package com.stemlen.service;
 import com.stemlen.entity.User;
 import com.stemlen.repository.UserRepository;
 import com.stemlen.utility.EmailVerificationTemp;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -17,7 +13,7 @@ import java.util.UUID;
 public class EmailVerificationServiceImpl implements EmailVerificationService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxService emailOutboxService;
 
     @Autowired
     private UserRepository userRepository;
@@ -43,12 +39,9 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
         String verificationLink = "http://localhost:3000/verify-email?token=" + token;
         String emailBody = EmailVerificationTemp.getMessageBody(verificationLink, user.getName());
 
-        try {
-            sendEmail(email, "Verify Your Email", emailBody);
-            return true;
-        } catch (MessagingException e) {
-            return false; 
-        }
+        // 📬 Delivered in the background by EmailOutboxWorker
+        emailOutboxService.enqueue(email, "Verify Your Email", emailBody);
+        return true;
     }
 
     @Override
@@ -72,12 +65,9 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
         String verificationLink = "http://localhost:3000/verify-email?token=" + newToken;
         String emailBody = EmailVerificationTemp.getMessageBody(verificationLink, user.getName());
 
-        try {
-            sendEmail(email, "Verify Your Email", emailBody);
-            return true;
-        } catch (MessagingException e) {
-            return false; 
-        }
+        // 📬 Delivered in the background by EmailOutboxWorker
+        emailOutboxService.enqueue(email, "Verify Your Email", emailBody);
+        return true;
     }
 
     @Override
@@ -100,13 +90,4 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
 
         return false; // Invalid token
     }
-
-    private void sendEmail(String to, String subject, String content) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(content, true);
-        mailSender.send(message);
-    }
 }
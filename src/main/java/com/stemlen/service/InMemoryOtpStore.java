@@ -0,0 +1,69 @@
+package com.stemlen.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.exception.PortalException;
+import com.stemlen.utility.Utilities;
+
+/**
+ * Process-local OTP store for single-node deployments. Expired codes are dropped when they are
+ * looked up, and swept from the map every few hundred saves.
+ */
+@Component
+@ConditionalOnProperty(name = "stemlen.otp.store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private static final int SWEEP_EVERY = 256;
+
+    @Value("${stemlen.otp.max-attempts:5}")
+    private int maxAttempts;
+
+    private final Map<String, Entry> codes = new ConcurrentHashMap<>();
+    private final AtomicInteger savesSinceSweep = new AtomicInteger();
+
+    @Override
+    public void save(String email, String otpCode) {
+        long now = System.currentTimeMillis();
+        codes.put(email, new Entry(otpCode, now + TTL_SECONDS * 1000L));
+        if (savesSinceSweep.incrementAndGet() >= SWEEP_EVERY) {
+            savesSinceSweep.set(0);
+            codes.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+    }
+
+    @Override
+    public void verify(String email, String otpCode) throws PortalException {
+        Entry entry = codes.get(email);
+        if (entry == null) {
+            throw new PortalException("OTP_NOT_FOUND");
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            codes.remove(email, entry);
+            throw new PortalException("OTP_EXPIRED");
+        }
+        if (entry.attempts.incrementAndGet() > maxAttempts) {
+            throw new PortalException("OTP_ATTEMPTS_EXCEEDED", HttpStatus.TOO_MANY_REQUESTS);
+        }
+        if (!Utilities.constantTimeEquals(entry.code, otpCode)) {
+            throw new PortalException("INVALID_OTP");
+        }
+    }
+
+    private static final class Entry {
+        private final String code;
+        private final long expiresAt;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private Entry(String code, long expiresAt) {
+            this.code = code;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
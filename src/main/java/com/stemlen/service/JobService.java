@@ -1,10 +1,17 @@
 package com.stemlen.service;
 
+import java.io.InputStream;
 import java.util.List;
 
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+
 import com.stemlen.dto.ApplicantDTO;
 import com.stemlen.dto.Application;
+import com.stemlen.dto.CursorPageDTO;
 import com.stemlen.dto.JobDTO;
+import com.stemlen.dto.JobSearchResultDTO;
+import com.stemlen.dto.JobStatus;
+import com.stemlen.dto.JobSummaryDTO;
 import com.stemlen.exception.PortalException;
 
 
@@ -14,12 +21,26 @@ public interface JobService {
 
 	public List<JobDTO> getAllJobs();
 
+	public CursorPageDTO<JobSummaryDTO> getJobFeed(JobStatus jobStatus, List<String> jobTypes, List<String> locations,
+			List<String> experience, List<String> skills, String cursor, Integer limit) throws PortalException;
+
+	public JobSearchResultDTO searchJobs(String query, List<String> jobTypes, List<String> locations,
+			List<String> experience, List<String> skills, Integer offset, Integer limit);
+
 	public JobDTO getJob(Long id) throws PortalException;
 
-	public void applyJob(Long id, ApplicantDTO applicantDTO) throws PortalException;
+	public ApplicantDTO applyJob(Long id, ApplicantDTO applicantDTO) throws PortalException;
+
+	public ApplicantDTO applyJob(Long id, ApplicantDTO applicantDTO, InputStream resume) throws PortalException;
+
+	public JobDTO uploadIcon(Long id, InputStream icon) throws PortalException;
 
 	public List<JobDTO> getJobsPostedBy(Long id);
 
-	public void changeAppStatus(Application application) throws PortalException;
+	public ApplicantDTO changeAppStatus(Application application) throws PortalException;
+
+	public List<ApplicantDTO> getApplicationsByApplicant(Long applicantId);
+
+	public GridFsResource getResume(Long applicationId) throws PortalException;
 
 }
@@ -1,31 +1,77 @@
 package com.stemlen.service;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import com.stemlen.dto.ApplicantDTO;
 import com.stemlen.dto.Application;
 import com.stemlen.dto.ApplicationStatus;
+import com.stemlen.dto.CursorPageDTO;
 import com.stemlen.dto.JobDTO;
+import com.stemlen.dto.JobSearchResultDTO;
 import com.stemlen.dto.JobStatus;
-import com.stemlen.entity.Applicant;
+import com.stemlen.dto.JobSummaryDTO;
+import com.stemlen.config.JobApplicationMigration;
 import com.stemlen.entity.Job;
+import com.stemlen.entity.JobApplication;
 import com.stemlen.exception.PortalException;
+import com.stemlen.repository.JobApplicationRepository;
 import com.stemlen.repository.JobRepository;
+import com.stemlen.search.JobSearchFilters;
+import com.stemlen.search.JobSearchIndex;
+import com.stemlen.utility.KeysetCursor;
 import com.stemlen.utility.Utilities;
 
 @Service("jobService")
 public class JobServiceImpl implements JobService {
 
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 100;
+    private static final int MAX_COUNT = 10_000;
+
     @Autowired
     private JobRepository jobRepository;
 
+    @Autowired
+    private JobApplicationRepository applicationRepository;
+
+    @Autowired
+    private JobApplicationMigration applicationMigration;
+
+    @Autowired
+    private ResumeStorage resumeStorage;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
 	@Override
 	public JobDTO postJob(JobDTO jobDTO) throws PortalException {
+		byte[] legacyIcon=null;
+		String storedIconHash=null;
 		if(jobDTO.getId()==0) {
 		jobDTO.setId(Utilities.getNextSequence("jobs"));
 		jobDTO.setPostTime(LocalDateTime.now());
@@ -33,64 +79,193 @@ public class JobServiceImpl implements JobService {
 		else {
 			Job job=jobRepository.findById(jobDTO.getId())
 					.orElseThrow(()->new PortalException("JOB_NOT_FOUND"));
+			// save() replaces the document, so embedded applicants must be moved out first
+			applicationMigration.migrateJob(jobDTO.getId());
+			legacyIcon=job.getIconImage();
+			storedIconHash=job.getIconImageHash();
 			if(job.getJobStatus().equals(JobStatus.DRAFT) ||
 					jobDTO.getJobStatus().equals(JobStatus.CLOSED))
 				jobDTO.setPostTime(LocalDateTime.now());
 		}
-		return jobRepository.save(jobDTO.toEntity()).toDTO();
+		Job entity=jobDTO.toEntity();
+		entity.setIconImageHash(mediaStorage.resolve(jobDTO.getIconImage(), entity.getIconImageHash(), storedIconHash, legacyIcon));
+		Job saved=jobRepository.save(entity);
+		jobSearchIndex.index(saved);
+		return saved.toDTO();
+	}
+
+	@Override
+	public JobDTO uploadIcon(Long id, InputStream icon) throws PortalException {
+		if(!jobRepository.existsById(id)) throw new PortalException("JOB_NOT_FOUND");
+		String hash=mediaStorage.storeImage(icon);
+		Job job=mongoOperations.findAndModify(Query.query(Criteria.where("_id").is(id)),
+				new Update().set("iconImageHash", hash).unset("iconImage"),
+				FindAndModifyOptions.options().returnNew(true), Job.class);
+		if(job==null) throw new PortalException("JOB_NOT_FOUND");
+		jobSearchIndex.index(job);
+		return withApplicants(List.of(job)).get(0);
+	}
+
+	@Override
+	public JobSearchResultDTO searchJobs(String query, List<String> jobTypes, List<String> locations,
+			List<String> experience, List<String> skills, Integer offset, Integer limit) {
+		int pageSize = limit == null || limit <= 0 ? DEFAULT_FEED_SIZE : Math.min(limit, MAX_FEED_SIZE);
+		int start = offset == null || offset < 0 ? 0 : offset;
+		return jobSearchIndex.search(query, new JobSearchFilters(jobTypes, locations, experience, skills), start, pageSize);
 	}
 
 	@Override
 	public List<JobDTO> getAllJobs() {
-		    return jobRepository.findAll().stream()
-		        .map((x) -> x.toDTO())
-		        .toList();
+		return withApplicants(jobRepository.findAll());
+	}
+
+	@Override
+	public CursorPageDTO<JobSummaryDTO> getJobFeed(JobStatus jobStatus, List<String> jobTypes, List<String> locations,
+			List<String> experience, List<String> skills, String cursor, Integer limit) throws PortalException {
+		int pageSize = limit == null || limit <= 0 ? DEFAULT_FEED_SIZE : Math.min(limit, MAX_FEED_SIZE);
+
+		Criteria criteria = Criteria.where("jobStatus").is(jobStatus != null ? jobStatus : JobStatus.ACTIVE);
+		if (jobTypes != null && !jobTypes.isEmpty()) criteria.and("jobType").in(jobTypes);
+		if (locations != null && !locations.isEmpty()) criteria.and("location").in(locations);
+		if (experience != null && !experience.isEmpty()) criteria.and("experience").in(experience);
+		if (skills != null && !skills.isEmpty()) criteria.and("skillsRequired").in(skills);
+
+		CursorPageDTO<JobSummaryDTO> page = new CursorPageDTO<>();
+		KeysetCursor after = KeysetCursor.decode(cursor);
+		if (after == null) {
+			// Only the first page pays for the count, capped so a broad filter stays cheap
+			page.setTotalEstimate(mongoOperations.count(new Query(criteria).limit(MAX_COUNT), Job.class));
+		} else {
+			// Newest first: continue strictly before the last (postTime, id) of the previous page
+			criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+					Criteria.where("postTime").lt(after.getDateTime()),
+					Criteria.where("postTime").is(after.getDateTime()).and("_id").lt(after.getId())));
+		}
+
+		Query query = new Query(criteria)
+				.with(Sort.by(Sort.Order.desc("postTime"), Sort.Order.desc("_id")))
+				.limit(pageSize + 1);
+		query.fields().include(Job.SUMMARY_FIELDS);
+		List<Job> jobs = mongoOperations.find(query, Job.class);
 
+		boolean hasMore = jobs.size() > pageSize;
+		if (hasMore) {
+			jobs = jobs.subList(0, pageSize);
+			Job last = jobs.get(jobs.size() - 1);
+			page.setNextCursor(new KeysetCursor(last.getPostTime(), last.getId()).encode());
+		}
+		page.setHasMore(hasMore);
+		page.setItems(jobs.stream().map(Job::toSummaryDTO).toList());
+		return page;
 	}
 
 	@Override
 	public JobDTO getJob(Long id) throws PortalException {
-		
-		return jobRepository.findById(id)
-				.orElseThrow(()->new PortalException("JOB_NOT_FOUND"))
-				.toDTO();
+		applicationMigration.migrateJob(id);
+		Job job=jobRepository.findById(id)
+				.orElseThrow(()->new PortalException("JOB_NOT_FOUND"));
+		return withApplicants(List.of(job)).get(0);
+	}
+
+	@Override
+	public ApplicantDTO applyJob(Long id, ApplicantDTO applicantDTO) throws PortalException {
+		// JSON clients send the resume as Base64; it is decoded once and stored like an upload
+		InputStream resume=null;
+		if(applicantDTO.getResume()!=null && !applicantDTO.getResume().isEmpty()) {
+			try {
+				resume=new ByteArrayInputStream(Base64.getDecoder().decode(applicantDTO.getResume()));
+			} catch (IllegalArgumentException e) {
+				throw new PortalException("UPLOAD_FAILED", HttpStatus.BAD_REQUEST);
+			}
+			applicantDTO.setResume(null);
+		}
+		return applyJob(id, applicantDTO, resume);
 	}
 
 	@Override
-	public void applyJob(Long id, ApplicantDTO applicantDTO) throws PortalException {
-		Job job=jobRepository.findById(id).orElseThrow(()->new PortalException("JOB_NOT_FOUND"));
-		List<Applicant>applicants=job.getApplicants();
-		if(applicants==null)
-			applicants=new ArrayList<>();
-		if(applicants.stream().filter((x)->x.getApplicantId()==applicantDTO.getApplicantId()).toList()
-				.size()>0) throw new PortalException("JOB_APPLIED_ALREADY");
-		applicantDTO.setApplicationStatus(ApplicationStatus.APPLIED);
-		applicants.add(applicantDTO.toEntity());
-		job.setApplicants(applicants);
-		jobRepository.save(job);
+	public ApplicantDTO applyJob(Long id, ApplicantDTO applicantDTO, InputStream resume) throws PortalException {
+		if(!jobRepository.existsById(id)) throw new PortalException("JOB_NOT_FOUND");
+		applicationMigration.migrateJob(id);
+
+		JobApplication application=new JobApplication(Utilities.getNextSequence("applications"), id,
+				applicantDTO.getApplicantId(), applicantDTO.getName(), applicantDTO.getEmail(), applicantDTO.getPhone(),
+				applicantDTO.getWebsite(), null, applicantDTO.getCoverLetter(),
+				applicantDTO.getTimestamp()!=null?applicantDTO.getTimestamp():LocalDateTime.now(),
+				ApplicationStatus.APPLIED, null);
+		try {
+			// Unique (jobId, applicantId) index rejects a second application
+			applicationRepository.insert(application);
+		} catch (DuplicateKeyException e) {
+			throw new PortalException("JOB_APPLIED_ALREADY", HttpStatus.CONFLICT);
+		}
+
+		if(resume!=null) {
+			String resumeId;
+			try {
+				resumeId=resumeStorage.store(id, applicantDTO.getApplicantId(), resume);
+			} catch (PortalException | RuntimeException e) {
+				// Don't leave an application behind whose resume was rejected
+				applicationRepository.deleteById(application.getId());
+				throw e;
+			}
+			mongoOperations.updateFirst(Query.query(Criteria.where("_id").is(application.getId())),
+					new Update().set("resumeId", resumeId), JobApplication.class);
+			application.setResumeId(resumeId);
+		}
+		return application.toDTO();
 	}
 
 	@Override
 	public List<JobDTO> getJobsPostedBy(Long id) {
-		 return jobRepository.findByPostedBy(id).stream()
-			        .map((x) -> x.toDTO())
-			        .toList();
+		return withApplicants(jobRepository.findByPostedBy(id));
 	}
 
 	@Override
-	public void changeAppStatus(Application application) throws PortalException {
-		Job job=jobRepository.findById(application.getId()).orElseThrow(()->new PortalException("JOB_NOT_FOUND"));
-		List<Applicant>applicants=job.getApplicants().stream().map((x)->{
-			if(application.getApplicantId()==x.getApplicantId()) {
-				x.setApplicationStatus(application.getApplicationStatus());
-				if(application.getApplicationStatus().equals(ApplicationStatus.INTERVIEWING))
-					x.setInterviewTime(application.getInterviewTime());
-			}
-			return x;
+	public ApplicantDTO changeAppStatus(Application application) throws PortalException {
+		applicationMigration.migrateJob(application.getId());
+
+		Update update=new Update().set("applicationStatus", application.getApplicationStatus());
+		if(application.getApplicationStatus().equals(ApplicationStatus.INTERVIEWING))
+			update.set("interviewTime", application.getInterviewTime());
+		// Single atomic write on the one application; concurrent changes to other applicants don't collide
+		JobApplication updated=mongoOperations.findAndModify(
+				Query.query(Criteria.where("jobId").is(application.getId()).and("applicantId").is(application.getApplicantId())),
+				update, FindAndModifyOptions.options().returnNew(true), JobApplication.class);
+		if(updated==null) {
+			if(!jobRepository.existsById(application.getId())) throw new PortalException("JOB_NOT_FOUND");
+			throw new PortalException("APPLICATION_NOT_FOUND");
+		}
+		return updated.toDTO();
+	}
+
+	@Override
+	public List<ApplicantDTO> getApplicationsByApplicant(Long applicantId) {
+		return applicationRepository.findByApplicantId(applicantId).stream()
+				.map((x) -> x.toDTO())
+				.toList();
+	}
+
+	@Override
+	public GridFsResource getResume(Long applicationId) throws PortalException {
+		JobApplication application=applicationRepository.findById(applicationId)
+				.orElseThrow(()->new PortalException("APPLICATION_NOT_FOUND"));
+		GridFsResource resume=resumeStorage.load(application.getResumeId());
+		if(resume==null) throw new PortalException("RESUME_NOT_FOUND");
+		return resume;
+	}
+
+	// Attaches applicants to the jobs with a single query (resumes are not loaded)
+	private List<JobDTO> withApplicants(List<Job> jobs) {
+		if(jobs.isEmpty()) return List.of();
+		Map<Long, List<ApplicantDTO>> byJob=applicationRepository
+				.findByJobIdIn(jobs.stream().map(Job::getId).toList()).stream()
+				.collect(Collectors.groupingBy(JobApplication::getJobId,
+						Collectors.mapping(JobApplication::toDTO, Collectors.toList())));
+		return jobs.stream().map((x) -> {
+			JobDTO dto=x.toDTO();
+			dto.setApplicants(byJob.getOrDefault(x.getId(), new ArrayList<>()));
+			return dto;
 		}).toList();
-		job.setApplicants(applicants);
-		jobRepository.save(job);
-		
 	}
 
 }
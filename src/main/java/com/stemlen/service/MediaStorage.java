@@ -0,0 +1,309 @@
+package com.stemlen.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.stemlen.exception.PortalException;
+import com.stemlen.utility.ImageThumbnailer;
+import com.stemlen.utility.UploadStream;
+import com.stemlen.utility.Utilities;
+
+/**
+ * Content-addressed image storage in GridFS. A file's name is the SHA-256 of its bytes, so the
+ * same image is stored once and its URL never changes meaning, which lets /media/{hash} be
+ * cached forever. Documents keep only the hash.
+ *
+ * Uploaded images also get the {@link ImageThumbnailer#SIZES} thumbnails, stored as
+ * "{hash}@{size}" so they are found from the original's hash. Images stored before that
+ * (or by the migration) get theirs on the first request for a size.
+ */
+@Component
+public class MediaStorage {
+
+    public static final String URL_PREFIX = "/media/";
+    private static final String FILES_COLLECTION = "fs.files";
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    @Autowired
+    private GridFsTemplate gridFsTemplate;
+
+    @Autowired
+    private ImageThumbnailer thumbnailer;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Value("${stemlen.media.max-upload-bytes:5242880}")
+    private long maxUploadBytes;
+
+    /**
+     * @return the content hash; storing the same bytes twice is a no-op
+     */
+    public String store(byte[] content) {
+        String hash = Utilities.sha256Hex(content);
+        if (gridFsTemplate.findOne(byHash(hash)) == null) {
+            Document metadata = new Document("sha256", hash).append("size", content.length);
+            gridFsTemplate.store(new ByteArrayInputStream(content), hash, contentType(content), metadata);
+        }
+        return hash;
+    }
+
+    /**
+     * Validates an uploaded image, then stores it with its thumbnails.
+     *
+     * @return the content hash of the original
+     */
+    public String storeImage(byte[] content) throws PortalException {
+        if (content.length > maxUploadBytes) {
+            throw new PortalException("FILE_TOO_LARGE", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        Map<Integer, byte[]> thumbnails = thumbnailer.thumbnails(content);
+        String hash = store(content);
+        thumbnails.forEach((size, thumbnail) -> storeVariant(hash, size, thumbnail));
+        return hash;
+    }
+
+    /**
+     * Streams an uploaded image into GridFS, hashing it on the way, then renders the thumbnails
+     * from the stored copy. The file is never held in memory as a whole.
+     *
+     * @return the content hash of the original
+     */
+    public String storeImage(InputStream content) throws PortalException {
+        UploadStream upload = open(content, maxUploadBytes);
+        String contentType = contentType(upload.header());
+        if (!contentType.startsWith("image/")) {
+            throw new PortalException("INVALID_IMAGE", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        }
+        // Stored under a temporary name: the hash is only known once the stream has been read
+        ObjectId id = storeStream(upload, "upload-" + UUID.randomUUID(), contentType, new Document());
+        String hash = upload.sha256Hex();
+
+        Map<Integer, byte[]> thumbnails;
+        try (InputStream stored = gridFsTemplate.getResource(gridFsTemplate.findOne(byId(id))).getInputStream()) {
+            thumbnails = thumbnailer.thumbnails(stored);
+        } catch (PortalException | RuntimeException e) {
+            gridFsTemplate.delete(byId(id));
+            throw e;
+        } catch (IOException e) {
+            gridFsTemplate.delete(byId(id));
+            throw new PortalException("INVALID_IMAGE", HttpStatus.BAD_REQUEST);
+        }
+
+        if (gridFsTemplate.findOne(byHash(hash)) != null) {
+            gridFsTemplate.delete(byId(id)); // Same image already stored
+        } else {
+            mongoOperations.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                    new Update().set("filename", hash)
+                            .set("metadata.sha256", hash)
+                            .set("metadata.size", upload.size()),
+                    FILES_COLLECTION);
+        }
+        thumbnails.forEach((size, thumbnail) -> storeVariant(hash, size, thumbnail));
+        return hash;
+    }
+
+    /**
+     * Wraps an upload with the size limit, checksum and header sniffing of {@link UploadStream}.
+     */
+    public static UploadStream open(InputStream content, long maxBytes) throws PortalException {
+        try {
+            return new UploadStream(content, maxBytes);
+        } catch (IOException e) {
+            throw new PortalException("UPLOAD_FAILED", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Streams into GridFS; an upload over its limit is aborted (GridFS drops the written chunks).
+     */
+    public ObjectId storeStream(UploadStream upload, String filename, String contentType, Document metadata)
+            throws PortalException {
+        try {
+            return gridFsTemplate.store(upload, filename, contentType, metadata);
+        } catch (RuntimeException e) {
+            if (UploadStream.isTooLarge(e)) {
+                throw new PortalException("FILE_TOO_LARGE", HttpStatus.PAYLOAD_TOO_LARGE);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Resolves the image hash to keep after a write of a DTO.
+     *
+     * @param upload Base64 image sent by the client: null keeps the current image, "" removes it
+     * @param currentHash hash the client sent back through the image URL
+     * @param storedHash hash already on the stored document, kept when the client sends neither
+     * @param legacy inline bytes of a document the migration has not reached yet
+     */
+    public String resolve(String upload, String currentHash, String storedHash, byte[] legacy) throws PortalException {
+        if (upload != null) {
+            if (upload.isEmpty()) {
+                return null;
+            }
+            try {
+                return storeImage(Base64.getDecoder().decode(upload));
+            } catch (IllegalArgumentException e) {
+                throw new PortalException("INVALID_MEDIA", HttpStatus.BAD_REQUEST);
+            }
+        }
+        if (currentHash != null) {
+            return currentHash;
+        }
+        if (storedHash != null) {
+            return storedHash;
+        }
+        return legacy != null && legacy.length > 0 ? store(legacy) : null;
+    }
+
+    /**
+     * Applies an image key of a merge patch: a Base64 value is stored and referenced, null or ""
+     * removes the image. Absent keys cost nothing. The legacy inline field (same name as the
+     * key) is dropped either way.
+     */
+    public void patchImage(Map<String, Object> patch, Update update, String key, String hashField) throws PortalException {
+        if (!patch.containsKey(key)) {
+            return;
+        }
+        Object value = patch.get(key);
+        if (value != null && !(value instanceof String)) {
+            throw new PortalException("INVALID_MEDIA", HttpStatus.BAD_REQUEST);
+        }
+        String hash = value != null ? resolve((String) value, null, null, null) : null;
+        update.unset(key);
+        if (hash != null) {
+            update.set(hashField, hash);
+        } else {
+            update.unset(hashField);
+        }
+    }
+
+    /**
+     * @return the stored file, or null if the hash is unknown
+     */
+    public GridFsResource load(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return null;
+        }
+        GridFSFile file = gridFsTemplate.findOne(byHash(hash));
+        return file != null ? gridFsTemplate.getResource(file) : null;
+    }
+
+    /**
+     * @return the thumbnail of the given size; falls back to the original if it is not an image
+     *         ImageIO can read (e.g. a legacy upload)
+     */
+    public GridFsResource loadVariant(String hash, int size) throws PortalException {
+        GridFsResource original = load(hash);
+        if (original == null) {
+            return null;
+        }
+        GridFSFile variant = gridFsTemplate.findOne(byHash(variantName(hash, size)));
+        if (variant != null) {
+            return gridFsTemplate.getResource(variant);
+        }
+        byte[] content;
+        try (InputStream in = original.getInputStream()) {
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            throw new PortalException("MEDIA_NOT_FOUND");
+        }
+        Map<Integer, byte[]> thumbnails;
+        try {
+            thumbnails = thumbnailer.thumbnails(content);
+        } catch (PortalException e) {
+            return load(hash);
+        }
+        thumbnails.forEach((variantSize, thumbnail) -> storeVariant(hash, variantSize, thumbnail));
+        return gridFsTemplate.getResource(gridFsTemplate.findOne(byHash(variantName(hash, size))));
+    }
+
+    private void storeVariant(String hash, int size, byte[] thumbnail) {
+        String name = variantName(hash, size);
+        if (gridFsTemplate.findOne(byHash(name)) == null) {
+            Document metadata = new Document("original", hash).append("size", thumbnail.length);
+            gridFsTemplate.store(new ByteArrayInputStream(thumbnail), name, contentType(thumbnail), metadata);
+        }
+    }
+
+    private static String variantName(String hash, int size) {
+        return hash + "@" + size;
+    }
+
+    public static String url(String hash) {
+        return hash != null ? URL_PREFIX + hash : null;
+    }
+
+    // Smallest thumbnail, for listings
+    public static String thumbnailUrl(String hash) {
+        return hash != null ? URL_PREFIX + hash + "?size=" + ImageThumbnailer.SIZES.get(0) : null;
+    }
+
+    // Accepts the URL handed out by url(), so DTOs can be round-tripped unchanged
+    public static String hashFromUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        String path = url.contains("?") ? url.substring(0, url.indexOf('?')) : url;
+        String hash = path.substring(path.lastIndexOf('/') + 1);
+        return HASH.matcher(hash).matches() ? hash : null;
+    }
+
+    private static Query byId(ObjectId id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private static Query byHash(String hash) {
+        return Query.query(Criteria.where("filename").is(hash));
+    }
+
+    // Magic bytes of the image formats the UI uploads
+    static String contentType(byte[] content) {
+        if (startsWith(content, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(content, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(content, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(content, 'R', 'I', 'F', 'F') && content.length >= 12
+                && content[8] == 'W' && content[9] == 'E' && content[10] == 'B' && content[11] == 'P') {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] content, int... magic) {
+        if (content.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((content[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
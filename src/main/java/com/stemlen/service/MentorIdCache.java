@@ -0,0 +1,82 @@
+package com.stemlen.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.entity.Mentor;
+import com.stemlen.repository.MentorRepository;
+
+/**
+ * Caches which mentor profile (if any) belongs to a user, keyed by the user's email. Entries
+ * expire on their own ("no mentor" much sooner), and MentorServiceImpl calls
+ * {@link #invalidate(String)} whenever a mentor is created, deleted or changes email.
+ */
+@Component
+public class MentorIdCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+    private static final long MENTOR_TTL_MILLIS = 5 * 60_000L;
+    private static final long NO_MENTOR_TTL_MILLIS = 30_000L;
+
+    @Autowired
+    private MentorRepository mentorRepository;
+
+    private final Map<String, Entry> mentorIds = new ConcurrentHashMap<>();
+
+    /**
+     * @return the caller's mentor id, or null if the user has no mentor profile
+     */
+    public Long getMentorId(String email, Long profileId) {
+        if (email == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Entry cached = mentorIds.get(email);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.mentorId;
+        }
+        Long mentorId = lookup(email, profileId);
+        mentorIds.put(email, new Entry(mentorId, now + (mentorId != null ? MENTOR_TTL_MILLIS : NO_MENTOR_TTL_MILLIS)));
+        if (mentorIds.size() > MAX_ENTRIES) {
+            mentorIds.values().removeIf(entry -> entry.expiresAt <= now);
+            if (mentorIds.size() > MAX_ENTRIES) {
+                mentorIds.clear();
+            }
+        }
+        return mentorId;
+    }
+
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        mentorIds.remove(email);
+    }
+
+    // Same rules as before: profileId if it is this user's mentor, otherwise the mentor with this email
+    private Long lookup(String email, Long profileId) {
+        if (profileId != null) {
+            Optional<Mentor> byProfile = mentorRepository.findById(profileId);
+            if (byProfile.isPresent() && (byProfile.get().getEmail() == null
+                    || Objects.equals(byProfile.get().getEmail(), email))) {
+                return profileId;
+            }
+        }
+        return mentorRepository.findByEmail(email).map(Mentor::getId).orElse(null);
+    }
+
+    private static final class Entry {
+        private final Long mentorId;
+        private final long expiresAt;
+
+        private Entry(Long mentorId, long expiresAt) {
+            this.mentorId = mentorId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.stemlen.service;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import com.stemlen.dto.MentorDTO;
 import com.stemlen.dto.MentorshipRequestDTO;
@@ -17,6 +19,14 @@ public interface MentorService {
     // Update mentor profile
     public MentorDTO updateMentor(MentorDTO mentorDTO) throws PortalException;
     
+    // Partial update (JSON Merge Patch): only the sent fields are written
+    public MentorDTO patchMentor(Long id, Map<String, Object> patch) throws PortalException;
+    
+    // Multipart image uploads, streamed to GridFS
+    public MentorDTO uploadPicture(Long id, InputStream picture) throws PortalException;
+    
+    public MentorDTO uploadBackground(Long id, InputStream background) throws PortalException;
+    
     // Get mentor by ID
     public MentorDTO getMentor(Long id) throws PortalException;
     
@@ -57,8 +67,8 @@ public interface MentorService {
     public void deleteMentor(Long id) throws PortalException;
     
     // Request mentorship session
-    public void requestMentorshipSession(Long mentorId, MentorshipRequestDTO requestDTO) throws PortalException;
+    public MentorshipRequestDTO requestMentorshipSession(Long mentorId, MentorshipRequestDTO requestDTO) throws PortalException;
     
     // Update mentorship request status
-    public void updateMentorshipRequestStatus(Long mentorId, Long requestId, SessionStatus status, LocalDateTime scheduledTime) throws PortalException;
+    public MentorshipRequestDTO updateMentorshipRequestStatus(Long mentorId, Long requestId, SessionStatus status, LocalDateTime scheduledTime) throws PortalException;
 }
\ No newline at end of file
@@ -1,13 +1,21 @@
 package com.stemlen.service;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stemlen.dto.MentorDTO;
 import com.stemlen.dto.MentorshipRequestDTO;
 import com.stemlen.dto.MentorshipStatus;
@@ -16,17 +24,37 @@ import com.stemlen.entity.Mentor;
 import com.stemlen.exception.PortalException;
 import com.stemlen.repository.MentorRepository;
 import com.stemlen.repository.UserRepository;
+import com.stemlen.utility.MergePatch;
 import com.stemlen.utility.Utilities;
 
 @Service("mentorService")
 public class MentorServiceImpl implements MentorService {
     
+    // Fields a mentor PATCH may change; counters, requests, email and join date are managed elsewhere
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("name", "jobTitle", "company", "location", "about",
+            "totalExp", "skills", "experiences", "certifications", "expertise", "bio", "mentorshipAreas",
+            "isAvailable", "mentorshipStatus", "linkedinUrl", "portfolioUrl", "languages", "timezone",
+            "availableDays", "sessionPreference");
+    private static final Set<String> IMAGE_FIELDS = Set.of("picture", "profileBackground");
+    
     @Autowired
     private MentorRepository mentorRepository;
 
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private MentorIdCache mentorIdCache;
+    
+    @Autowired
+    private MongoOperations mongoOperations;
+    
+    @Autowired
+    private MediaStorage mediaStorage;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @Override
     public MentorDTO createMentor(MentorDTO mentorDTO) throws PortalException {
         if (Objects.isNull(mentorDTO.getId()) || mentorDTO.getId() == 0) {
@@ -58,7 +86,8 @@ public class MentorServiceImpl implements MentorService {
             }
         }
         
-        Mentor mentor = mentorRepository.save(mentorDTO.toEntity());
+        Mentor existing = mentorRepository.findById(mentorDTO.getId()).orElse(null);
+        Mentor mentor = mentorRepository.save(withMedia(mentorDTO, existing));
 
         // Sync user's profileId if a user with the same email exists and profileId differs
         if (mentor.getEmail() != null) {
@@ -69,18 +98,75 @@ public class MentorServiceImpl implements MentorService {
                 }
             });
         }
+        mentorIdCache.invalidate(mentor.getEmail());
         return mentor.toDTO();
     }
     
     @Override
     public MentorDTO updateMentor(MentorDTO mentorDTO) throws PortalException {
-        mentorRepository.findById(mentorDTO.getId())
+        Mentor existing = mentorRepository.findById(mentorDTO.getId())
                 .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND"));
         
-        Mentor mentor = mentorRepository.save(mentorDTO.toEntity());
+        Mentor mentor = mentorRepository.save(withMedia(mentorDTO, existing));
+        // The email may have changed, so both the old and the new address are dropped
+        mentorIdCache.invalidate(existing.getEmail());
+        mentorIdCache.invalidate(mentor.getEmail());
+        return mentor.toDTO();
+    }
+    
+    @Override
+    public MentorDTO patchMentor(Long id, Map<String, Object> patch) throws PortalException {
+        Update update = MergePatch.toUpdate(patch, Mentor.class, PATCHABLE_FIELDS, IMAGE_FIELDS, objectMapper);
+        mediaStorage.patchImage(patch, update, "picture", "pictureHash");
+        mediaStorage.patchImage(patch, update, "profileBackground", "profileBackgroundHash");
+        if (update.getUpdateObject().isEmpty()) {
+            return getMentor(id);
+        }
+        // One write with only the sent paths; existence is implied by the match
+        Mentor mentor = mongoOperations.findAndModify(Query.query(Criteria.where("_id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(true), Mentor.class);
+        if (mentor == null) {
+            throw new PortalException("MENTOR_NOT_FOUND");
+        }
+        return mentor.toDTO();
+    }
+    
+    @Override
+    public MentorDTO uploadPicture(Long id, InputStream picture) throws PortalException {
+        return uploadImage(id, "pictureHash", "picture", picture);
+    }
+    
+    @Override
+    public MentorDTO uploadBackground(Long id, InputStream background) throws PortalException {
+        return uploadImage(id, "profileBackgroundHash", "profileBackground", background);
+    }
+    
+    // Streams the image to GridFS, then points the mentor at it (dropping any legacy inline copy)
+    private MentorDTO uploadImage(Long id, String hashField, String legacyField, InputStream content) throws PortalException {
+        if (!mentorRepository.existsById(id)) {
+            throw new PortalException("MENTOR_NOT_FOUND");
+        }
+        String hash = mediaStorage.storeImage(content);
+        Mentor mentor = mongoOperations.findAndModify(Query.query(Criteria.where("_id").is(id)),
+                new Update().set(hashField, hash).unset(legacyField),
+                FindAndModifyOptions.options().returnNew(true), Mentor.class);
+        if (mentor == null) {
+            throw new PortalException("MENTOR_NOT_FOUND");
+        }
         return mentor.toDTO();
     }
     
+    // Stores uploaded images in GridFS; the mentor document keeps only their hashes
+    private Mentor withMedia(MentorDTO mentorDTO, Mentor existing) throws PortalException {
+        Mentor mentor = mentorDTO.toEntity();
+        mentor.setPictureHash(mediaStorage.resolve(mentorDTO.getPicture(), mentor.getPictureHash(),
+                existing != null ? existing.getPictureHash() : null, existing != null ? existing.getPicture() : null));
+        mentor.setProfileBackgroundHash(mediaStorage.resolve(mentorDTO.getProfileBackground(),
+                mentor.getProfileBackgroundHash(), existing != null ? existing.getProfileBackgroundHash() : null,
+                existing != null ? existing.getProfileBackground() : null));
+        return mentor;
+    }
+    
     @Override
     public MentorDTO getMentor(Long id) throws PortalException {
         return mentorRepository.findById(id)
@@ -185,56 +271,48 @@ public class MentorServiceImpl implements MentorService {
     
     @Override
     public void deleteMentor(Long id) throws PortalException {
-        if (!mentorRepository.existsById(id)) {
-            throw new PortalException("MENTOR_NOT_FOUND");
-        }
+        Mentor mentor = mentorRepository.findById(id)
+                .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND"));
         mentorRepository.deleteById(id);
+        mentorIdCache.invalidate(mentor.getEmail());
     }
     
     @Override
-    public void requestMentorshipSession(Long mentorId, MentorshipRequestDTO requestDTO) throws PortalException {
-        Mentor mentor = mentorRepository.findById(mentorId)
-                .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND"));
-        
+    public MentorshipRequestDTO requestMentorshipSession(Long mentorId, MentorshipRequestDTO requestDTO) throws PortalException {
         // Set default values for the request
         requestDTO.setRequestId(Utilities.getNextSequence("mentorshipRequests"));
         requestDTO.setRequestTime(LocalDateTime.now());
         requestDTO.setSessionStatus(SessionStatus.REQUESTED);
         
-        // Add the request to mentor's list
-        if (mentor.getMentorshipRequests() == null) {
-            mentor.setMentorshipRequests(new ArrayList<>());
+        // Atomic $push; only the new request is read back
+        Query query = Query.query(Criteria.where("_id").is(mentorId));
+        query.fields().slice("mentorshipRequests", -1);
+        Mentor mentor = mongoOperations.findAndModify(query,
+                new Update().push("mentorshipRequests", requestDTO.toEntity()),
+                FindAndModifyOptions.options().returnNew(true), Mentor.class);
+        if (mentor == null) {
+            throw new PortalException("MENTOR_NOT_FOUND");
         }
-        mentor.getMentorshipRequests().add(requestDTO.toEntity());
-        
-        mentorRepository.save(mentor);
+        return mentor.getMentorshipRequests().get(0).toDTO();
     }
     
     @Override
-    public void updateMentorshipRequestStatus(Long mentorId, Long requestId, SessionStatus status, LocalDateTime scheduledTime) throws PortalException {
-        Mentor mentor = mentorRepository.findById(mentorId)
-                .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND"));
-        
-        if (mentor.getMentorshipRequests() == null) {
-            throw new PortalException("NO_MENTORSHIP_REQUESTS_FOUND");
+    public MentorshipRequestDTO updateMentorshipRequestStatus(Long mentorId, Long requestId, SessionStatus status, LocalDateTime scheduledTime) throws PortalException {
+        // Positional $set on the matched request only; other requests and fields are left untouched
+        Query query = Query.query(Criteria.where("_id").is(mentorId).and("mentorshipRequests.requestId").is(requestId));
+        query.fields().position("mentorshipRequests", 1);
+        Update update = new Update().set("mentorshipRequests.$.sessionStatus", status);
+        if (scheduledTime != null) {
+            update.set("mentorshipRequests.$.scheduledTime", scheduledTime);
         }
-        
-        // Update the specific request
-        mentor.getMentorshipRequests().stream()
-                .filter(request -> request.getRequestId().equals(requestId))
-                .findFirst()
-                .ifPresentOrElse(
-                    request -> {
-                        request.setSessionStatus(status);
-                        if (scheduledTime != null) {
-                            request.setScheduledTime(scheduledTime);
-                        }
-                    },
-                    () -> {
-                        throw new RuntimeException("MENTORSHIP_REQUEST_NOT_FOUND");
-                    }
-                );
-        
-        mentorRepository.save(mentor);
+        Mentor mentor = mongoOperations.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Mentor.class);
+        if (mentor == null) {
+            if (!mentorRepository.existsById(mentorId)) {
+                throw new PortalException("MENTOR_NOT_FOUND");
+            }
+            throw new PortalException("MENTORSHIP_REQUEST_NOT_FOUND");
+        }
+        return mentor.getMentorshipRequests().get(0).toDTO();
     }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.stemlen.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import com.stemlen.dto.MentorshipPackageDTO;
@@ -12,6 +14,7 @@ import com.stemlen.entity.MentorshipPackage;
 import com.stemlen.exception.PortalException;
 import com.stemlen.repository.MentorRepository;
 import com.stemlen.repository.MentorshipPackageRepository;
+import com.stemlen.utility.OrphanScanner;
 import com.stemlen.utility.Utilities;
 
 @Service("mentorshipPackageService")
@@ -23,6 +26,9 @@ public class MentorshipPackageServiceImpl implements MentorshipPackageService {
     @Autowired
     private MentorRepository mentorRepository;
     
+    @Autowired
+    private OrphanScanner orphanScanner;
+    
     @Override
     public MentorshipPackageDTO createPackage(MentorshipPackageDTO packageDTO) throws PortalException {
         // Validate that the mentor exists
@@ -162,32 +168,18 @@ public class MentorshipPackageServiceImpl implements MentorshipPackageService {
     
     @Override
     public List<MentorshipPackageDTO> findOrphanedPackages() throws PortalException {
-        List<MentorshipPackage> allPackages = packageRepository.findAll();
-        List<MentorshipPackage> orphanedPackages = allPackages.stream()
-                .filter(pkg -> {
-                    // Check if the mentorId exists in the mentor collection
-                    if (pkg.getMentorId() == null) {
-                        return true; // Packages without mentorId are orphaned
-                    }
-                    return !mentorRepository.existsById(pkg.getMentorId());
-                })
-                .toList();
-                
-        return orphanedPackages.stream()
-                .map(MentorshipPackage::toDTO)
-                .toList();
+        // Packages without mentorId, or whose mentor no longer exists, are orphaned
+        List<MentorshipPackageDTO> orphanedPackages = new ArrayList<>();
+        orphanScanner.forEachOrphan(MentorshipPackage.class, MentorshipPackage::getMentorId, 
+            pkg -> orphanedPackages.add(pkg.toDTO()));
+        return orphanedPackages;
     }
     
     @Override
     public void cleanupOrphanedPackages() throws PortalException {
-        List<MentorshipPackageDTO> orphanedPackages = findOrphanedPackages();
-        for (MentorshipPackageDTO packageDTO : orphanedPackages) {
-            // Deactivate orphaned packages instead of deleting to preserve data
-            MentorshipPackage pkg = packageRepository.findById(packageDTO.getId())
-                    .orElseThrow(() -> new PortalException("PACKAGE_NOT_FOUND"));
-            pkg.setIsActive(false);
-            packageRepository.save(pkg);
-            System.out.println("⚠️  Deactivated orphaned package: " + packageDTO.getPackageName() + " (Mentor ID: " + packageDTO.getMentorId() + ")");
-        }
+        // Deactivate orphaned packages instead of deleting to preserve data
+        long deactivated = orphanScanner.updateOrphans(MentorshipPackage.class, "mentorId", 
+            new Update().set("isActive", false));
+        System.out.println("⚠️  Deactivated " + deactivated + " orphaned packages");
     }
 }
\ No newline at end of file
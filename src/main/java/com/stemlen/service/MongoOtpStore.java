@@ -0,0 +1,65 @@
+package com.stemlen.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.entity.OTP;
+import com.stemlen.exception.PortalException;
+import com.stemlen.repository.OTPRepository;
+import com.stemlen.utility.Utilities;
+
+/**
+ * OTP store shared by all nodes. Mongo removes codes through the TTL index on creationTime;
+ * the TTL monitor runs about once a minute, so expiry is still checked on read.
+ */
+@Component
+@ConditionalOnProperty(name = "stemlen.otp.store", havingValue = "mongo", matchIfMissing = true)
+public class MongoOtpStore implements OtpStore {
+
+    @Autowired
+    private OTPRepository otpRepository;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Value("${stemlen.otp.max-attempts:5}")
+    private int maxAttempts;
+
+    @Override
+    public void save(String email, String otpCode) {
+        otpRepository.save(new OTP(email, otpCode, LocalDateTime.now(), 0));
+    }
+
+    @Override
+    public void verify(String email, String otpCode) throws PortalException {
+        // Count the attempt atomically so parallel guesses can't exceed maxAttempts;
+        // codes saved before the counter existed have no attempts field yet
+        OTP storedOtp = mongoOperations.findAndModify(
+                Query.query(Criteria.where("_id").is(email).orOperator(
+                        Criteria.where("attempts").lt(maxAttempts), Criteria.where("attempts").exists(false))),
+                new Update().inc("attempts", 1),
+                FindAndModifyOptions.options().returnNew(true), OTP.class);
+        if (storedOtp == null) {
+            if (otpRepository.existsById(email)) {
+                throw new PortalException("OTP_ATTEMPTS_EXCEEDED", HttpStatus.TOO_MANY_REQUESTS);
+            }
+            throw new PortalException("OTP_NOT_FOUND");
+        }
+        if (storedOtp.getCreationTime().plusSeconds(TTL_SECONDS).isBefore(LocalDateTime.now())) {
+            throw new PortalException("OTP_EXPIRED");
+        }
+        if (!Utilities.constantTimeEquals(storedOtp.getOtpCode(), otpCode)) {
+            throw new PortalException("INVALID_OTP");
+        }
+    }
+}
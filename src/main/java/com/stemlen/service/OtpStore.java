@@ -0,0 +1,22 @@
+package com.stemlen.service;
+
+import com.stemlen.exception.PortalException;
+
+/**
+ * Where issued OTPs live until they expire. Selected with stemlen.otp.store=mongo|memory.
+ */
+public interface OtpStore {
+
+    // Validity of an issued code; also the TTL of the Mongo index on otp.creationTime
+    int TTL_SECONDS = 600;
+
+    // Replaces any previous code for the email and resets its attempt counter
+    void save(String email, String otpCode);
+
+    /**
+     * Counts the attempt, then checks the code in constant time.
+     *
+     * @throws PortalException OTP_NOT_FOUND, OTP_EXPIRED, OTP_ATTEMPTS_EXCEEDED or INVALID_OTP
+     */
+    void verify(String email, String otpCode) throws PortalException;
+}
@@ -1,7 +1,10 @@
 package com.stemlen.service;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
+import com.stemlen.dto.AvatarDTO;
 import com.stemlen.dto.ProfileDTO;
 import com.stemlen.exception.PortalException;
 
@@ -9,6 +12,11 @@ public interface ProfileService {
 	public Long createProfile(String email,String name) throws PortalException;//made changes string name
 	public ProfileDTO getProfile(Long id) throws PortalException;
 	public ProfileDTO updateProfile(ProfileDTO profileDTO)throws PortalException;
+	public ProfileDTO patchProfile(Long id, Map<String, Object> patch) throws PortalException;
+	public ProfileDTO uploadPicture(Long id, InputStream picture) throws PortalException;
+	public ProfileDTO uploadBackground(Long id, InputStream background) throws PortalException;
 	public List<ProfileDTO> getAllProfiles();
+	public List<AvatarDTO> getAvatars(List<Long> profileIds) throws PortalException;
+	public AvatarDTO getAvatar(Long profileId) throws PortalException;
 
 }
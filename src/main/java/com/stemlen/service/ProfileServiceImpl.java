@@ -1,23 +1,50 @@
 package com.stemlen.service;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stemlen.dto.AvatarDTO;
 import com.stemlen.dto.ProfileDTO;
 import com.stemlen.entity.Profile;
 import com.stemlen.exception.PortalException;
 import com.stemlen.repository.ProfileRepository;
+import com.stemlen.utility.MergePatch;
 import com.stemlen.utility.Utilities;
 
 @Service("profileService")
 public class ProfileServiceImpl implements ProfileService {
 	
+	private static final int MAX_AVATAR_BATCH = 100;
+	
+	// Fields a profile PATCH may change; images go through patchImage, email and id never change
+	private static final Set<String> PATCHABLE_FIELDS = Set.of("name", "jobTitle", "company", "location", "about",
+			"totalExp", "skills", "experiences", "certifications", "savedJobs");
+	private static final Set<String> IMAGE_FIELDS = Set.of("picture", "profileBackground");
+	
 	@Autowired
 	private ProfileRepository profileRepository;
 	
+	@Autowired
+	private MongoOperations mongoOperations;
+	
+	@Autowired
+	private MediaStorage mediaStorage;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
 	@Override
 	public Long createProfile(String email,String name) throws PortalException {
 		Profile profile = new Profile();
@@ -41,10 +68,57 @@ public class ProfileServiceImpl implements ProfileService {
 
 	@Override
 	public ProfileDTO updateProfile(ProfileDTO profileDTO) throws PortalException {
-		profileRepository.findById(profileDTO.getId())
+		Profile existing = profileRepository.findById(profileDTO.getId())
 	            .orElseThrow(() -> new PortalException("PROFILE_NOT_FOUND"));
-	    profileRepository.save(profileDTO.toEntity());
-	    return profileDTO;
+	    Profile profile = profileDTO.toEntity();
+	    // Images are stored once in GridFS; the profile keeps only their hashes
+	    profile.setPictureHash(mediaStorage.resolve(profileDTO.getPicture(), profile.getPictureHash(),
+	            existing.getPictureHash(), existing.getPicture()));
+	    profile.setProfileBackgroundHash(mediaStorage.resolve(profileDTO.getProfileBackground(),
+	            profile.getProfileBackgroundHash(), existing.getProfileBackgroundHash(), existing.getProfileBackground()));
+	    return profileRepository.save(profile).toDTO();
+	}
+
+	@Override
+	public ProfileDTO patchProfile(Long id, Map<String, Object> patch) throws PortalException {
+		Update update = MergePatch.toUpdate(patch, Profile.class, PATCHABLE_FIELDS, IMAGE_FIELDS, objectMapper);
+		mediaStorage.patchImage(patch, update, "picture", "pictureHash");
+		mediaStorage.patchImage(patch, update, "profileBackground", "profileBackgroundHash");
+		if (update.getUpdateObject().isEmpty()) {
+			return getProfile(id);
+		}
+		// One write with only the sent paths; existence is implied by the match
+		Profile profile = mongoOperations.findAndModify(new Query(Criteria.where("_id").is(id)), update,
+				FindAndModifyOptions.options().returnNew(true), Profile.class);
+		if (profile == null) {
+			throw new PortalException("PROFILE_NOT_FOUND");
+		}
+		return profile.toDTO();
+	}
+
+	@Override
+	public ProfileDTO uploadPicture(Long id, InputStream picture) throws PortalException {
+		return uploadImage(id, "pictureHash", "picture", picture);
+	}
+
+	@Override
+	public ProfileDTO uploadBackground(Long id, InputStream background) throws PortalException {
+		return uploadImage(id, "profileBackgroundHash", "profileBackground", background);
+	}
+
+	// Streams the image to GridFS, then points the profile at it (dropping any legacy inline copy)
+	private ProfileDTO uploadImage(Long id, String hashField, String legacyField, InputStream content) throws PortalException {
+		if (!profileRepository.existsById(id)) {
+			throw new PortalException("PROFILE_NOT_FOUND");
+		}
+		String hash = mediaStorage.storeImage(content);
+		Profile profile = mongoOperations.findAndModify(new Query(Criteria.where("_id").is(id)),
+				new Update().set(hashField, hash).unset(legacyField),
+				FindAndModifyOptions.options().returnNew(true), Profile.class);
+		if (profile == null) {
+			throw new PortalException("PROFILE_NOT_FOUND");
+		}
+		return profile.toDTO();
 	}
 
 	@Override
@@ -52,6 +126,35 @@ public class ProfileServiceImpl implements ProfileService {
 		return profileRepository.findAll().stream().map((x)->x.toDTO()).toList();
 	}
 
+	@Override
+	public List<AvatarDTO> getAvatars(List<Long> profileIds) throws PortalException {
+		if (profileIds.size() > MAX_AVATAR_BATCH) {
+			throw new PortalException("AVATAR_BATCH_TOO_LARGE");
+		}
+		// Only the picture hash is read; the rest of the profile stays on disk
+		Query query = new Query(Criteria.where("_id").in(profileIds));
+		query.fields().include("pictureHash");
+		return mongoOperations.find(query, Profile.class).stream()
+				.filter(profile -> profile.getPictureHash() != null)
+				.map(this::toAvatar)
+				.toList();
+	}
+
+	@Override
+	public AvatarDTO getAvatar(Long profileId) throws PortalException {
+		Query query = new Query(Criteria.where("_id").is(profileId));
+		query.fields().include("pictureHash");
+		Profile profile = mongoOperations.findOne(query, Profile.class);
+		if (profile == null || profile.getPictureHash() == null) {
+			throw new PortalException("AVATAR_NOT_FOUND");
+		}
+		return toAvatar(profile);
+	}
+
+	private AvatarDTO toAvatar(Profile profile) {
+		return new AvatarDTO(profile.getId(), profile.getPictureHash(), MediaStorage.thumbnailUrl(profile.getPictureHash()));
+	}
+
 	
 
 }
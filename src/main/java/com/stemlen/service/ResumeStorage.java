@@ -0,0 +1,115 @@
+package com.stemlen.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.stemlen.exception.PortalException;
+import com.stemlen.utility.UploadStream;
+
+/**
+ * Stores application resumes in GridFS so job and application documents stay small.
+ * Uploads are streamed with a size limit; the checksum is recorded once the file is stored.
+ */
+@Component
+public class ResumeStorage {
+
+    @Autowired
+    private GridFsTemplate gridFsTemplate;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    @Value("${stemlen.resume.max-bytes:5242880}")
+    private long maxBytes;
+
+    /**
+     * Stores a resume that was already accepted (used by JobApplicationMigration); no size limit.
+     *
+     * @return the GridFS id of the stored file
+     */
+    public String store(Long jobId, Long applicantId, byte[] content) {
+        try {
+            return store(jobId, applicantId, new ByteArrayInputStream(content), Long.MAX_VALUE);
+        } catch (PortalException e) {
+            throw new IllegalStateException("Could not store resume: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the GridFS id of the stored file
+     * @throws PortalException FILE_TOO_LARGE if the upload exceeds stemlen.resume.max-bytes
+     */
+    public String store(Long jobId, Long applicantId, InputStream content) throws PortalException {
+        return store(jobId, applicantId, content, maxBytes);
+    }
+
+    private String store(Long jobId, Long applicantId, InputStream content, long limit) throws PortalException {
+        UploadStream upload = MediaStorage.open(content, limit);
+        Document metadata = new Document("jobId", jobId).append("applicantId", applicantId);
+        ObjectId id = mediaStorage.storeStream(upload, "resume-" + jobId + "-" + applicantId,
+                contentType(upload.header()), metadata);
+        mongoOperations.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                new Update().set("metadata.sha256", upload.sha256Hex()).set("metadata.size", upload.size()),
+                "fs.files");
+        return id.toHexString();
+    }
+
+    /**
+     * @return the stored resume, or null if it does not exist
+     */
+    public GridFsResource load(String resumeId) {
+        if (resumeId == null || !ObjectId.isValid(resumeId)) {
+            return null;
+        }
+        GridFSFile file = gridFsTemplate.findOne(Query.query(Criteria.where("_id").is(new ObjectId(resumeId))));
+        return file != null ? gridFsTemplate.getResource(file) : null;
+    }
+
+    public void delete(String resumeId) {
+        if (resumeId != null && ObjectId.isValid(resumeId)) {
+            gridFsTemplate.delete(Query.query(Criteria.where("_id").is(new ObjectId(resumeId))));
+        }
+    }
+
+    // Sniffed from the leading bytes; the client's declared type is not trusted
+    private static String contentType(byte[] header) {
+        if (startsWith(header, '%', 'P', 'D', 'F')) {
+            return "application/pdf";
+        }
+        if (startsWith(header, 'P', 'K', 3, 4)) {
+            return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        }
+        if (startsWith(header, 0xD0, 0xCF, 0x11, 0xE0)) {
+            return "application/msword";
+        }
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] header, int... magic) {
+        if (header.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
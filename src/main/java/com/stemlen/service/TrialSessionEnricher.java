@@ -0,0 +1,58 @@
+package com.stemlen.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.dto.TrialSessionStatus;
+import com.stemlen.dto.UserDTO;
+import com.stemlen.entity.Profile;
+import com.stemlen.entity.TrialSession;
+import com.stemlen.exception.PortalException;
+
+/**
+ * Fills in mentee details (menteeId, profile reference) after a booking has been committed,
+ * so the booking request itself only pays for the conditional update.
+ */
+@Component
+public class TrialSessionEnricher {
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private MongoOperations mongoOperations;
+    
+    @Async
+    public void enrichBookedSession(Long sessionId, String menteeEmail) {
+        try {
+            UserDTO user = userService.getUserByEmail(menteeEmail);
+            if (user == null) {
+                return;
+            }
+            Update update = new Update().set("menteeId", user.getId());
+            if (user.getProfileId() != null) {
+                // Store a reference and content hash only; the image itself is served by /media/{hash}
+                update.set("menteeProfileId", user.getProfileId());
+                Query profileQuery = new Query(Criteria.where("_id").is(user.getProfileId()));
+                profileQuery.fields().include("pictureHash");
+                Profile profile = mongoOperations.findOne(profileQuery, Profile.class);
+                if (profile != null && profile.getPictureHash() != null) {
+                    update.set("menteeAvatarHash", profile.getPictureHash());
+                }
+            }
+            // Only touch the session if it is still this mentee's booking
+            Query query = new Query(Criteria.where("_id").is(sessionId)
+                    .and("status").is(TrialSessionStatus.BOOKED)
+                    .and("menteeEmail").is(menteeEmail));
+            mongoOperations.updateFirst(query, update, TrialSession.class);
+        } catch (PortalException e) {
+            // Log the error but don't fail the booking process
+            System.out.println("Could not enrich booking for mentee: " + menteeEmail + ", Error: " + e.getMessage());
+        }
+    }
+}
@@ -7,7 +7,10 @@ import java.util.List;
 import com.stemlen.dto.TrialSessionDTO;
 import com.stemlen.dto.TrialSessionStatus;
 import com.stemlen.dto.BulkTrialSessionDTO;
+import com.stemlen.dto.BulkTrialSessionResultDTO;
 import com.stemlen.dto.AvailabilityTemplateDTO;
+import com.stemlen.dto.CursorPageDTO;
+import com.stemlen.dto.TrialSessionSummaryDTO;
 import com.stemlen.exception.PortalException;
 
 public interface TrialSessionService {
@@ -19,15 +22,19 @@ public interface TrialSessionService {
     List<TrialSessionDTO> createMultipleAvailableSlots(Long mentorId, List<LocalDateTime> dateTimeSlots, Integer durationMinutes) throws PortalException;
     
     // 🆕 ENHANCED BULK OPERATIONS
-    List<TrialSessionDTO> createBulkTrialSessions(BulkTrialSessionDTO bulkRequest, Long mentorId) throws PortalException;
-    List<TrialSessionDTO> createRecurringTrialSessions(TrialSessionDTO baseSession, String recurringPattern, LocalDateTime endDate, Long mentorId) throws PortalException;
+    BulkTrialSessionResultDTO createBulkTrialSessions(BulkTrialSessionDTO bulkRequest, Long mentorId) throws PortalException;
+    BulkTrialSessionResultDTO createRecurringTrialSessions(TrialSessionDTO baseSession, String recurringPattern, LocalDateTime endDate, Long mentorId) throws PortalException;
     
     // 🆕 AVAILABILITY TEMPLATE OPERATIONS
     AvailabilityTemplateDTO saveAvailabilityTemplate(AvailabilityTemplateDTO template, Long mentorId) throws PortalException;
     List<AvailabilityTemplateDTO> getAvailabilityTemplatesByMentor(Long mentorId);
     AvailabilityTemplateDTO getAvailabilityTemplate(Long templateId, Long mentorId) throws PortalException;
     void deleteAvailabilityTemplate(Long templateId, Long mentorId) throws PortalException;
-    List<TrialSessionDTO> applyAvailabilityTemplate(Long templateId, LocalDateTime startDate, LocalDateTime endDate, Long mentorId) throws PortalException;
+    BulkTrialSessionResultDTO applyAvailabilityTemplate(Long templateId, LocalDateTime startDate, LocalDateTime endDate, Long mentorId) throws PortalException;
+    
+    // Virtual availability: templates expanded on read, persisted only when booked
+    List<TrialSessionDTO> getVirtualAvailability(Long mentorId, LocalDateTime startDate, LocalDateTime endDate) throws PortalException;
+    TrialSessionDTO bookVirtualSlot(String virtualSlotKey, String menteeEmail, String menteeName, String menteePhone) throws PortalException;
     
     // 🔒 SECURE READ: Get sessions with ownership validation
     TrialSessionDTO getTrialSession(Long id) throws PortalException;
@@ -65,6 +72,14 @@ public interface TrialSessionService {
     List<TrialSessionDTO> getAvailableSessionsForDate(LocalDateTime date);
     List<TrialSessionDTO> getBookedSessionsByEmail(String menteeEmail);
     
+    // Paginated summary listings (keyset on scheduledDateTime, id)
+    CursorPageDTO<TrialSessionDTO> getAvailableSessionsPageForDate(LocalDateTime date, Long mentorId, String sessionType, 
+            String cursor, Integer limit) throws PortalException;
+    CursorPageDTO<TrialSessionSummaryDTO> getTrialSessionSummariesByMentor(Long mentorId, String cursor, Integer limit) throws PortalException;
+    CursorPageDTO<TrialSessionSummaryDTO> getTrialSessionSummariesByMentee(Long menteeId, String cursor, Integer limit) throws PortalException;
+    CursorPageDTO<TrialSessionSummaryDTO> getTrialSessionSummariesByPackage(Long packageId, String cursor, Integer limit) throws PortalException;
+    CursorPageDTO<TrialSessionSummaryDTO> getBookedSessionSummariesByEmail(String menteeEmail, String cursor, Integer limit) throws PortalException;
+    
     // Admin/utility operations
     List<TrialSessionDTO> findOrphanedTrialSessions() throws PortalException;
     String cleanupOrphanedTrialSessions() throws PortalException;
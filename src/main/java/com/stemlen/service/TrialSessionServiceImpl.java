@@ -1,30 +1,59 @@
 package com.stemlen.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import com.stemlen.dto.TrialSessionDTO;
 import com.stemlen.dto.TrialSessionStatus;
 import com.stemlen.dto.BulkTrialSessionDTO;
+import com.stemlen.dto.BulkTrialSessionResultDTO;
 import com.stemlen.dto.AvailabilityTemplateDTO;
+import com.stemlen.dto.CursorPageDTO;
+import com.stemlen.dto.TrialSessionSummaryDTO;
 import com.stemlen.entity.TrialSession;
 import com.stemlen.entity.AvailabilityTemplate;
 import com.stemlen.exception.PortalException;
 import com.stemlen.repository.MentorRepository;
 import com.stemlen.repository.TrialSessionRepository;
 import com.stemlen.repository.AvailabilityTemplateRepository;
+import com.stemlen.utility.KeysetCursor;
+import com.stemlen.utility.OrphanScanner;
+import com.stemlen.utility.SessionIntervalIndex;
 import com.stemlen.utility.Utilities;
 
 @Service("trialSessionService")
 public class TrialSessionServiceImpl implements TrialSessionService {
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_VIRTUAL_WINDOW_DAYS = 92;
+    
     @Autowired
     private TrialSessionRepository trialSessionRepository;
     
@@ -35,10 +64,13 @@ public class TrialSessionServiceImpl implements TrialSessionService {
     private AvailabilityTemplateRepository availabilityTemplateRepository;
     
     @Autowired
-    private UserService userService;
+    private MongoOperations mongoOperations;
+    
+    @Autowired
+    private TrialSessionEnricher trialSessionEnricher;
     
     @Autowired
-    private ProfileService profileService;
+    private OrphanScanner orphanScanner;
     
     // 🔒 CORE SECURITY METHOD: Validate trial session ownership
     @Override
@@ -62,7 +94,30 @@ public class TrialSessionServiceImpl implements TrialSessionService {
             throw new PortalException("MENTOR_ID_REQUIRED: Mentor ID is required for creating trial session");
         }
         
-        // Set default values for new fields first
+        applySlotDefaults(trialSessionDTO);
+        
+        // 🔒 Check for time conflicts before creating the slot
+        if (trialSessionDTO.getScheduledDateTime() != null) {
+            List<TrialSessionDTO> conflicts = getConflictingSessions(
+                trialSessionDTO.getMentorId(), 
+                trialSessionDTO.getScheduledDateTime(), 
+                trialSessionDTO.getDurationMinutes(), 
+                trialSessionDTO.getBufferTimeMinutes()
+            );
+            
+            if (!conflicts.isEmpty()) {
+                String conflictTimes = conflicts.stream()
+                    .map(session -> session.getScheduledDateTime().toString())
+                    .collect(Collectors.joining(", "));
+                throw new PortalException("TIME_SLOT_CONFLICT: A session already exists at this time or overlaps with existing sessions. Conflicting sessions: " + conflictTimes);
+            }
+        }
+        
+        return saveNewSlot(trialSessionDTO);
+    }
+    
+    // Set default values for fields the caller left empty
+    private void applySlotDefaults(TrialSessionDTO trialSessionDTO) {
         if (trialSessionDTO.getDurationMinutes() == null) {
             trialSessionDTO.setDurationMinutes(30);
         }
@@ -90,25 +145,10 @@ public class TrialSessionServiceImpl implements TrialSessionService {
         if (trialSessionDTO.getIsRecurring() == null) {
             trialSessionDTO.setIsRecurring(false);
         }
-        
-        // 🔒 Check for time conflicts before creating the slot
-        if (trialSessionDTO.getScheduledDateTime() != null) {
-            List<TrialSessionDTO> conflicts = getConflictingSessions(
-                trialSessionDTO.getMentorId(), 
-                trialSessionDTO.getScheduledDateTime(), 
-                trialSessionDTO.getDurationMinutes(), 
-                trialSessionDTO.getBufferTimeMinutes()
-            );
-            
-            if (!conflicts.isEmpty()) {
-                String conflictTimes = conflicts.stream()
-                    .map(session -> session.getScheduledDateTime().toString())
-                    .collect(Collectors.joining(", "));
-                throw new PortalException("TIME_SLOT_CONFLICT: A session already exists at this time or overlaps with existing sessions. Conflicting sessions: " + conflictTimes);
-            }
-        }
-        
-        // Set ID and timestamps for new sessions
+    }
+    
+    // Assign ID/timestamps and persist a slot whose conflicts have already been checked
+    private TrialSessionDTO saveNewSlot(TrialSessionDTO trialSessionDTO) throws PortalException {
         if (Objects.isNull(trialSessionDTO.getId()) || trialSessionDTO.getId() == 0) {
             trialSessionDTO.setId(Utilities.getNextSequence("trialSessions"));
             trialSessionDTO.setCreatedAt(LocalDateTime.now());
@@ -118,18 +158,103 @@ public class TrialSessionServiceImpl implements TrialSessionService {
         
         return trialSessionRepository.save(trialSessionDTO.toEntity()).toDTO();
     }
+    
+    /**
+     * Loads the mentor's AVAILABLE/BOOKED sessions around [from, to] into an in-memory interval
+     * index with a single query, so bulk generation can check every slot without a round trip.
+     */
+    private SessionIntervalIndex loadIntervalIndex(Long mentorId, LocalDateTime from, LocalDateTime to, Integer bufferMinutes) {
+        SessionIntervalIndex index = new SessionIntervalIndex(bufferMinutes);
+        // Widen by a day so sessions straddling the window edges are still seen
+        trialSessionRepository.findConflictingSessions(mentorId, from.minusDays(1), to.plusDays(1))
+                .forEach(session -> index.add(session.getScheduledDateTime()));
+        return index;
+    }
+
+    /**
+     * Builds a new AVAILABLE slot entity in memory; nothing is written until the batch is flushed.
+     */
+    private TrialSession newSlotEntity(TrialSessionDTO sessionDTO, LocalDateTime now) {
+        applySlotDefaults(sessionDTO);
+        sessionDTO.setStatus(TrialSessionStatus.AVAILABLE);
+        sessionDTO.setCreatedAt(now);
+        sessionDTO.setUpdatedAt(now);
+        return sessionDTO.toEntity();
+    }
+    
+    // Gives every generated slot an ID from one contiguous block (a single sequence increment)
+    private void assignSequenceBlock(List<TrialSession> slots) throws PortalException {
+        if (slots.isEmpty()) {
+            return;
+        }
+        long firstId = Utilities.reserveSequenceBlock("trialSessions", slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            slots.get(i).setId(firstId + i);
+        }
+    }
+    
+    /**
+     * Writes all generated slots with one unordered bulk insert and folds the outcome into the
+     * per-day summary. Slots rejected by Mongo are reported as failed; the rest are still inserted.
+     */
+    private BulkTrialSessionResultDTO bulkInsertSlots(List<TrialSession> slots, 
+            Map<LocalDate, BulkTrialSessionResultDTO.DaySummaryDTO> days) {
+        Set<Integer> failedIndexes = new HashSet<>();
+        if (!slots.isEmpty()) {
+            try {
+                mongoOperations.bulkOps(BulkMode.UNORDERED, TrialSession.class)
+                        .insert(slots)
+                        .execute();
+            } catch (BulkOperationException e) {
+                e.getErrors().forEach(error -> failedIndexes.add(error.getIndex()));
+            }
+        }
+        
+        BulkTrialSessionResultDTO result = new BulkTrialSessionResultDTO();
+        for (int i = 0; i < slots.size(); i++) {
+            TrialSession slot = slots.get(i);
+            BulkTrialSessionResultDTO.DaySummaryDTO day = days.computeIfAbsent(
+                slot.getScheduledDateTime().toLocalDate(), BulkTrialSessionResultDTO.DaySummaryDTO::new);
+            if (failedIndexes.contains(i)) {
+                day.setFailed(day.getFailed() + 1);
+            } else {
+                day.setCreated(day.getCreated() + 1);
+                result.getCreatedSessions().add(slot.toDTO());
+            }
+        }
+        
+        for (BulkTrialSessionResultDTO.DaySummaryDTO day : days.values()) {
+            result.setTotalCreated(result.getTotalCreated() + day.getCreated());
+            result.setTotalSkippedConflict(result.getTotalSkippedConflict() + day.getSkippedConflict());
+            result.setTotalFailed(result.getTotalFailed() + day.getFailed());
+        }
+        result.setDays(new ArrayList<>(days.values()));
+        return result;
+    }
+    
+    private static void recordConflict(Map<LocalDate, BulkTrialSessionResultDTO.DaySummaryDTO> days, LocalDateTime dateTime) {
+        BulkTrialSessionResultDTO.DaySummaryDTO day = days.computeIfAbsent(
+            dateTime.toLocalDate(), BulkTrialSessionResultDTO.DaySummaryDTO::new);
+        day.setSkippedConflict(day.getSkippedConflict() + 1);
+    }
 
     // 🆕 ENHANCED BULK OPERATIONS
     @Override
-    public List<TrialSessionDTO> createBulkTrialSessions(BulkTrialSessionDTO bulkRequest, Long mentorId) throws PortalException {
+    public BulkTrialSessionResultDTO createBulkTrialSessions(BulkTrialSessionDTO bulkRequest, Long mentorId) throws PortalException {
         // Validate mentor exists
         mentorRepository.findById(mentorId)
                 .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND: Mentor with ID " + mentorId + " does not exist"));
         
-        List<TrialSessionDTO> createdSessions = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        List<TrialSession> slots = new ArrayList<>();
+        Map<LocalDate, BulkTrialSessionResultDTO.DaySummaryDTO> days = new TreeMap<>();
         LocalDateTime currentDate = bulkRequest.getStartDate().toLocalDate().atStartOfDay();
         LocalDateTime endDate = bulkRequest.getEndDate();
+        Integer bufferMinutes = bulkRequest.getBufferTimeMinutes() != null ? 
+            bulkRequest.getBufferTimeMinutes() : 5;
+        SessionIntervalIndex occupied = loadIntervalIndex(mentorId, currentDate, endDate, bufferMinutes);
         
+        // Stage 1: expand the whole range in memory
         while (currentDate.isBefore(endDate) || currentDate.isEqual(endDate)) {
             int dayOfWeek = currentDate.getDayOfWeek().getValue(); // 1=Monday, 7=Sunday
             
@@ -139,78 +264,102 @@ public class TrialSessionServiceImpl implements TrialSessionService {
                 for (BulkTrialSessionDTO.TimeSlotDTO timeSlot : bulkRequest.getTimeSlots()) {
                     LocalDateTime sessionDateTime = currentDate.toLocalDate().atTime(timeSlot.getStartTime());
                     
-                    // Check for conflicts
-                    Integer bufferMinutes = bulkRequest.getBufferTimeMinutes() != null ? 
-                        bulkRequest.getBufferTimeMinutes() : 5;
-                    List<TrialSessionDTO> conflicts = getConflictingSessions(mentorId, sessionDateTime, 
-                        timeSlot.getDurationMinutes(), bufferMinutes);
+                    // Check for conflicts in memory
+                    if (occupied.conflicts(sessionDateTime, timeSlot.getDurationMinutes())) {
+                        recordConflict(days, sessionDateTime);
+                        continue;
+                    }
                     
-                    if (conflicts.isEmpty()) {
-                        TrialSessionDTO sessionDTO = new TrialSessionDTO();
-                        sessionDTO.setMentorId(mentorId);
-                        sessionDTO.setPackageId(bulkRequest.getPackageId());
-                        sessionDTO.setScheduledDateTime(sessionDateTime);
-                        sessionDTO.setDurationMinutes(timeSlot.getDurationMinutes());
-                        sessionDTO.setSessionType(bulkRequest.getSessionType());
-                        sessionDTO.setTimeZone(bulkRequest.getTimeZone());
-                        sessionDTO.setBufferTimeMinutes(bulkRequest.getBufferTimeMinutes());
-                        sessionDTO.setPreparationTimeMinutes(bulkRequest.getPreparationTimeMinutes());
-                        sessionDTO.setAllowRescheduling(bulkRequest.getAllowRescheduling());
-                        sessionDTO.setMaxReschedulingHours(bulkRequest.getMaxReschedulingHours());
-                        sessionDTO.setRequireConfirmation(bulkRequest.getRequireConfirmation());
-                        sessionDTO.setSpecialInstructions(bulkRequest.getSpecialInstructions());
-                        sessionDTO.setAvailabilityTemplate(bulkRequest.getAvailabilityTemplate());
-                        sessionDTO.setSessionTitle(timeSlot.getSessionTitle());
-                        sessionDTO.setSessionDescription(timeSlot.getSessionDescription());
-                        
-                        // Set recurring fields if applicable
-                        if (bulkRequest.getCreateRecurring() != null && bulkRequest.getCreateRecurring()) {
-                            sessionDTO.setIsRecurring(true);
-                            sessionDTO.setRecurringPattern(bulkRequest.getRecurringPattern());
-                            sessionDTO.setRecurringEndDate(endDate.plusWeeks(bulkRequest.getRecurringWeeks() - 1));
-                        }
-                        
-                        TrialSessionDTO created = createAvailableSlot(sessionDTO);
-                        createdSessions.add(created);
+                    TrialSessionDTO sessionDTO = new TrialSessionDTO();
+                    sessionDTO.setMentorId(mentorId);
+                    sessionDTO.setPackageId(bulkRequest.getPackageId());
+                    sessionDTO.setScheduledDateTime(sessionDateTime);
+                    sessionDTO.setDurationMinutes(timeSlot.getDurationMinutes());
+                    sessionDTO.setSessionType(bulkRequest.getSessionType());
+                    sessionDTO.setTimeZone(bulkRequest.getTimeZone());
+                    sessionDTO.setBufferTimeMinutes(bulkRequest.getBufferTimeMinutes());
+                    sessionDTO.setPreparationTimeMinutes(bulkRequest.getPreparationTimeMinutes());
+                    sessionDTO.setAllowRescheduling(bulkRequest.getAllowRescheduling());
+                    sessionDTO.setMaxReschedulingHours(bulkRequest.getMaxReschedulingHours());
+                    sessionDTO.setRequireConfirmation(bulkRequest.getRequireConfirmation());
+                    sessionDTO.setSpecialInstructions(bulkRequest.getSpecialInstructions());
+                    sessionDTO.setAvailabilityTemplate(bulkRequest.getAvailabilityTemplate());
+                    sessionDTO.setSessionTitle(timeSlot.getSessionTitle());
+                    sessionDTO.setSessionDescription(timeSlot.getSessionDescription());
+                    
+                    // Set recurring fields if applicable
+                    if (bulkRequest.getCreateRecurring() != null && bulkRequest.getCreateRecurring()) {
+                        sessionDTO.setIsRecurring(true);
+                        sessionDTO.setRecurringPattern(bulkRequest.getRecurringPattern());
+                        sessionDTO.setRecurringEndDate(endDate.plusWeeks(bulkRequest.getRecurringWeeks() - 1));
                     }
+                    
+                    TrialSession slot = newSlotEntity(sessionDTO, now);
+                    occupied.add(sessionDateTime);
+                    slots.add(slot);
                 }
             }
             currentDate = currentDate.plusDays(1);
         }
         
-        return createdSessions;
+        // Stage 2 + 3: reserve IDs in one increment, then one bulk insert
+        assignSequenceBlock(slots);
+        return bulkInsertSlots(slots, days);
     }
 
     @Override
-    public List<TrialSessionDTO> createRecurringTrialSessions(TrialSessionDTO baseSession, String recurringPattern, 
+    public BulkTrialSessionResultDTO createRecurringTrialSessions(TrialSessionDTO baseSession, String recurringPattern, 
             LocalDateTime endDate, Long mentorId) throws PortalException {
-        List<TrialSessionDTO> createdSessions = new ArrayList<>();
+        mentorRepository.findById(mentorId)
+                .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND: Mentor with ID " + mentorId + " does not exist"));
+        
+        String pattern = recurringPattern.toUpperCase();
+        if (!List.of("DAILY", "WEEKLY", "MONTHLY").contains(pattern)) {
+            throw new PortalException("INVALID_RECURRING_PATTERN: Supported patterns are DAILY, WEEKLY, MONTHLY");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<TrialSession> slots = new ArrayList<>();
+        Map<LocalDate, BulkTrialSessionResultDTO.DaySummaryDTO> days = new TreeMap<>();
         LocalDateTime currentDateTime = baseSession.getScheduledDateTime();
         
-        // Create the base session first
+        // The base session is the parent of the series
+        baseSession.setId(null);
         baseSession.setIsRecurring(true);
         baseSession.setRecurringPattern(recurringPattern);
         baseSession.setRecurringEndDate(endDate);
-        TrialSessionDTO parentSession = createAvailableSlot(baseSession);
-        createdSessions.add(parentSession);
+        applySlotDefaults(baseSession);
         
-        // Create recurring sessions based on pattern
+        // One query for the whole series
+        SessionIntervalIndex occupied = loadIntervalIndex(mentorId, currentDateTime, endDate, 
+            baseSession.getBufferTimeMinutes());
+        if (occupied.conflicts(currentDateTime, baseSession.getDurationMinutes())) {
+            throw new PortalException("TIME_SLOT_CONFLICT: A session already exists at this time or overlaps with existing sessions");
+        }
+        slots.add(newSlotEntity(baseSession, now));
+        occupied.add(currentDateTime);
+        
+        // Stage 1: expand recurring sessions based on pattern
         while (currentDateTime.isBefore(endDate)) {
-            switch (recurringPattern.toUpperCase()) {
+            switch (pattern) {
                 case "DAILY":
                     currentDateTime = currentDateTime.plusDays(1);
                     break;
                 case "WEEKLY":
                     currentDateTime = currentDateTime.plusWeeks(1);
                     break;
-                case "MONTHLY":
+                default:
                     currentDateTime = currentDateTime.plusMonths(1);
                     break;
-                default:
-                    throw new PortalException("INVALID_RECURRING_PATTERN: Supported patterns are DAILY, WEEKLY, MONTHLY");
             }
             
             if (currentDateTime.isBefore(endDate) || currentDateTime.isEqual(endDate)) {
+                // Check for conflicts in memory before creating
+                if (occupied.conflicts(currentDateTime, baseSession.getDurationMinutes())) {
+                    recordConflict(days, currentDateTime);
+                    continue;
+                }
+                
                 TrialSessionDTO recurringSession = new TrialSessionDTO();
                 // Copy all fields from base session
                 recurringSession.setMentorId(baseSession.getMentorId());
@@ -232,20 +381,28 @@ public class TrialSessionServiceImpl implements TrialSessionService {
                 recurringSession.setIsRecurring(true);
                 recurringSession.setRecurringPattern(recurringPattern);
                 recurringSession.setRecurringEndDate(endDate);
-                recurringSession.setParentSessionId(parentSession.getId());
                 
-                // Check for conflicts before creating
-                List<TrialSessionDTO> conflicts = getConflictingSessions(mentorId, currentDateTime, 
-                    baseSession.getDurationMinutes(), baseSession.getBufferTimeMinutes());
-                
-                if (conflicts.isEmpty()) {
-                    TrialSessionDTO created = createAvailableSlot(recurringSession);
-                    createdSessions.add(created);
-                }
+                TrialSession slot = newSlotEntity(recurringSession, now);
+                occupied.add(currentDateTime);
+                slots.add(slot);
             }
         }
         
-        return createdSessions;
+        // Stage 2: IDs from one block, so the parent ID is known before anything is written
+        assignSequenceBlock(slots);
+        Long parentId = slots.get(0).getId();
+        slots.subList(1, slots.size()).forEach(slot -> slot.setParentSessionId(parentId));
+        
+        // Stage 3: the parent goes in on its own first, so a child can never reference a parent
+        // that failed to insert; if it fails, nothing is written. Then one bulk insert for the rest.
+        TrialSession parent = slots.get(0);
+        mongoOperations.insert(parent);
+        BulkTrialSessionResultDTO.DaySummaryDTO parentDay = days.computeIfAbsent(
+            parent.getScheduledDateTime().toLocalDate(), BulkTrialSessionResultDTO.DaySummaryDTO::new);
+        parentDay.setCreated(parentDay.getCreated() + 1);
+        BulkTrialSessionResultDTO result = bulkInsertSlots(slots.subList(1, slots.size()), days);
+        result.getCreatedSessions().add(0, parent.toDTO());
+        return result;
     }
 
     // 🆕 ENHANCED QUERY OPERATIONS
@@ -260,8 +417,9 @@ public class TrialSessionServiceImpl implements TrialSessionService {
     @Override
     public List<TrialSessionDTO> getTrialSessionsByTimeSlot(Long mentorId, LocalTime startTime, LocalTime endTime, 
             List<Integer> daysOfWeek) {
+        List<Integer> days = daysOfWeek == null || daysOfWeek.isEmpty() ? List.of(1, 2, 3, 4, 5, 6, 7) : daysOfWeek;
         return trialSessionRepository.findByMentorIdAndTimePattern(mentorId, 
-                startTime.getHour(), endTime.getHour(), daysOfWeek)
+                startTime.getHour(), endTime.getHour(), days)
                 .stream()
                 .map(TrialSession::toDTO)
                 .collect(Collectors.toList());
@@ -334,56 +492,212 @@ public class TrialSessionServiceImpl implements TrialSessionService {
     }
 
     @Override
-    public List<TrialSessionDTO> applyAvailabilityTemplate(Long templateId, LocalDateTime startDate, 
+    public BulkTrialSessionResultDTO applyAvailabilityTemplate(Long templateId, LocalDateTime startDate, 
             LocalDateTime endDate, Long mentorId) throws PortalException {
         AvailabilityTemplateDTO template = getAvailabilityTemplate(templateId, mentorId);
-        List<TrialSessionDTO> createdSessions = new ArrayList<>();
+        mentorRepository.findById(mentorId)
+                .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND: Mentor with ID " + mentorId + " does not exist"));
         
-        LocalDateTime currentDate = startDate.toLocalDate().atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+        List<TrialSession> slots = new ArrayList<>();
+        Map<LocalDate, BulkTrialSessionResultDTO.DaySummaryDTO> days = new TreeMap<>();
+        SessionIntervalIndex occupied = loadIntervalIndex(mentorId, startDate.toLocalDate().atStartOfDay(), endDate, 
+            template.getBufferTimeMinutes());
+        
+        // Stage 1: expand the template over the whole range in memory
+        forEachTemplateSlot(template, startDate, endDate, (sessionDateTime, slot) -> {
+            // Check for conflicts in memory
+            if (occupied.conflicts(sessionDateTime, slot.getSessionDurationMinutes())) {
+                recordConflict(days, sessionDateTime);
+                return;
+            }
+            TrialSession entity = newSlotEntity(templateSlotDTO(template, sessionDateTime, slot), now);
+            occupied.add(sessionDateTime);
+            slots.add(entity);
+        });
         
+        // Stage 2 + 3: reserve IDs in one increment, then one bulk insert
+        assignSequenceBlock(slots);
+        return bulkInsertSlots(slots, days);
+    }
+    
+    /**
+     * Walks every template slot on the days from startDate to endDate (inclusive), in date order.
+     * Shared by materializing a template and by expanding virtual availability on read.
+     */
+    private void forEachTemplateSlot(AvailabilityTemplateDTO template, LocalDateTime startDate, LocalDateTime endDate,
+            BiConsumer<LocalDateTime, AvailabilityTemplateDTO.DailyAvailabilityDTO.TimeSlotTemplateDTO> visitor) {
+        if (template.getDailyAvailabilities() == null) {
+            return;
+        }
+        LocalDateTime currentDate = startDate.toLocalDate().atStartOfDay();
         while (currentDate.isBefore(endDate) || currentDate.isEqual(endDate)) {
             int dayOfWeek = currentDate.getDayOfWeek().getValue(); // 1=Monday, 7=Sunday
             
             // Find availability for this day of week
             AvailabilityTemplateDTO.DailyAvailabilityDTO dailyAvailability = template.getDailyAvailabilities()
                     .stream()
-                    .filter(da -> da.getDayOfWeek().equals(dayOfWeek) && da.getIsAvailable())
+                    .filter(da -> Objects.equals(da.getDayOfWeek(), dayOfWeek) && Boolean.TRUE.equals(da.getIsAvailable()))
                     .findFirst()
                     .orElse(null);
             
             if (dailyAvailability != null && dailyAvailability.getTimeSlots() != null) {
                 for (AvailabilityTemplateDTO.DailyAvailabilityDTO.TimeSlotTemplateDTO slot : dailyAvailability.getTimeSlots()) {
-                    LocalDateTime sessionDateTime = currentDate.toLocalDate().atTime(slot.getStartTime());
-                    
-                    // Check for conflicts
-                    List<TrialSessionDTO> conflicts = getConflictingSessions(mentorId, sessionDateTime, 
-                        slot.getSessionDurationMinutes(), template.getBufferTimeMinutes());
-                    
-                    if (conflicts.isEmpty()) {
-                        TrialSessionDTO sessionDTO = new TrialSessionDTO();
-                        sessionDTO.setMentorId(mentorId);
-                        sessionDTO.setScheduledDateTime(sessionDateTime);
-                        sessionDTO.setDurationMinutes(slot.getSessionDurationMinutes());
-                        sessionDTO.setSessionType(template.getDefaultSessionType());
-                        sessionDTO.setBufferTimeMinutes(template.getBufferTimeMinutes());
-                        sessionDTO.setPreparationTimeMinutes(template.getPreparationTimeMinutes());
-                        sessionDTO.setAllowRescheduling(template.getAllowRescheduling());
-                        sessionDTO.setMaxReschedulingHours(template.getMaxReschedulingHours());
-                        sessionDTO.setRequireConfirmation(template.getRequireConfirmation());
-                        sessionDTO.setAvailabilityTemplate(template.getTemplateName());
-                        sessionDTO.setSessionTitle(slot.getSessionTitle());
-                        sessionDTO.setSessionDescription(slot.getSessionDescription());
-                        
-                        TrialSessionDTO created = createAvailableSlot(sessionDTO);
-                        createdSessions.add(created);
-                    }
+                    visitor.accept(currentDate.toLocalDate().atTime(slot.getStartTime()), slot);
                 }
             }
             
             currentDate = currentDate.plusDays(1);
         }
+    }
+    
+    // Session settings for one template slot; the caller decides whether it is persisted or virtual
+    private TrialSessionDTO templateSlotDTO(AvailabilityTemplateDTO template, LocalDateTime sessionDateTime,
+            AvailabilityTemplateDTO.DailyAvailabilityDTO.TimeSlotTemplateDTO slot) {
+        TrialSessionDTO sessionDTO = new TrialSessionDTO();
+        sessionDTO.setMentorId(template.getMentorId());
+        sessionDTO.setScheduledDateTime(sessionDateTime);
+        sessionDTO.setDurationMinutes(slot.getSessionDurationMinutes());
+        sessionDTO.setSessionType(template.getDefaultSessionType());
+        sessionDTO.setBufferTimeMinutes(template.getBufferTimeMinutes());
+        sessionDTO.setPreparationTimeMinutes(template.getPreparationTimeMinutes());
+        sessionDTO.setAllowRescheduling(template.getAllowRescheduling());
+        sessionDTO.setMaxReschedulingHours(template.getMaxReschedulingHours());
+        sessionDTO.setRequireConfirmation(template.getRequireConfirmation());
+        sessionDTO.setAvailabilityTemplate(template.getTemplateName());
+        sessionDTO.setSessionTitle(slot.getSessionTitle());
+        sessionDTO.setSessionDescription(slot.getSessionDescription());
+        applySlotDefaults(sessionDTO);
+        return sessionDTO;
+    }
+    
+    // 🆕 VIRTUAL AVAILABILITY: template slots are computed on read and only persisted when booked
+    @Override
+    public List<TrialSessionDTO> getVirtualAvailability(Long mentorId, LocalDateTime startDate, 
+            LocalDateTime endDate) throws PortalException {
+        if (endDate.isBefore(startDate) || startDate.plusDays(MAX_VIRTUAL_WINDOW_DAYS).isBefore(endDate)) {
+            throw new PortalException("INVALID_DATE_RANGE");
+        }
+        List<AvailabilityTemplate> templates = availabilityTemplateRepository.findByMentorIdAndIsActiveTrueAndIsVirtualTrue(mentorId);
+        List<TrialSessionDTO> virtualSlots = new ArrayList<>();
+        if (templates.isEmpty()) {
+            return virtualSlots;
+        }
+        
+        // Never offer slots in the past
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = startDate.isBefore(now) ? now : startDate;
+        List<TrialSession> realSessions = trialSessionRepository.findConflictingSessions(mentorId, 
+            from.minusDays(1), endDate.plusDays(1));
+        
+        for (AvailabilityTemplate entity : templates) {
+            AvailabilityTemplateDTO template = entity.toDTO();
+            // Subtract real sessions and slots already offered by another template
+            SessionIntervalIndex occupied = new SessionIntervalIndex(template.getBufferTimeMinutes());
+            realSessions.forEach(session -> occupied.add(session.getScheduledDateTime()));
+            virtualSlots.forEach(slot -> occupied.add(slot.getScheduledDateTime()));
+            
+            List<TrialSessionDTO> templateSlots = new ArrayList<>();
+            forEachTemplateSlot(template, from, endDate, (sessionDateTime, slot) -> {
+                if (sessionDateTime.isBefore(from) || !sessionDateTime.isBefore(endDate)
+                        || occupied.conflicts(sessionDateTime, slot.getSessionDurationMinutes())) {
+                    return;
+                }
+                TrialSessionDTO virtualSlot = templateSlotDTO(template, sessionDateTime, slot);
+                virtualSlot.setVirtualSlotKey(virtualSlotKey(template.getId(), sessionDateTime));
+                occupied.add(sessionDateTime);
+                templateSlots.add(virtualSlot);
+            });
+            virtualSlots.addAll(templateSlots);
+        }
+        
+        virtualSlots.sort(Comparator.comparing(TrialSessionDTO::getScheduledDateTime));
+        return virtualSlots;
+    }
+    
+    @Override
+    public TrialSessionDTO bookVirtualSlot(String virtualSlotKey, String menteeEmail, String menteeName, 
+            String menteePhone) throws PortalException {
+        Long templateId;
+        LocalDateTime sessionDateTime;
+        try {
+            String[] parts = virtualSlotKey.split(":");
+            templateId = Long.parseLong(parts[0]);
+            sessionDateTime = LocalDateTime.ofEpochSecond(Long.parseLong(parts[1]), 0, ZoneOffset.UTC);
+        } catch (RuntimeException e) {
+            throw new PortalException("TRIAL_SESSION_NOT_FOUND");
+        }
+        
+        AvailabilityTemplate entity = availabilityTemplateRepository.findById(templateId)
+                .filter(t -> Boolean.TRUE.equals(t.getIsActive()) && Boolean.TRUE.equals(t.getIsVirtual()))
+                .orElseThrow(() -> new PortalException("TRIAL_SESSION_NOT_FOUND"));
+        if (sessionDateTime.isBefore(LocalDateTime.now())) {
+            throw new PortalException("TRIAL_SESSION_NOT_FOUND");
+        }
+        
+        // The slot must still exist in the (possibly edited) template
+        AvailabilityTemplateDTO template = entity.toDTO();
+        List<TrialSessionDTO> matches = new ArrayList<>();
+        forEachTemplateSlot(template, sessionDateTime, sessionDateTime, (slotDateTime, slot) -> {
+            if (slotDateTime.equals(sessionDateTime) && matches.isEmpty()) {
+                matches.add(templateSlotDTO(template, slotDateTime, slot));
+            }
+        });
+        if (matches.isEmpty()) {
+            throw new PortalException("TRIAL_SESSION_NOT_FOUND");
+        }
+        TrialSessionDTO sessionDTO = matches.get(0);
+        
+        // A real session may have been created over this time since the slot was listed
+        SessionIntervalIndex occupied = loadIntervalIndex(template.getMentorId(), sessionDateTime, sessionDateTime, 
+            template.getBufferTimeMinutes());
+        if (occupied.conflicts(sessionDateTime, sessionDTO.getDurationMinutes())) {
+            throw new PortalException("SESSION_ALREADY_BOOKED", HttpStatus.CONFLICT);
+        }
         
-        return createdSessions;
+        LocalDateTime now = LocalDateTime.now();
+        sessionDTO.setId(Utilities.getNextSequence("trialSessions"));
+        sessionDTO.setVirtualSlotKey(virtualSlotKey(templateId, sessionDateTime));
+        sessionDTO.setStatus(TrialSessionStatus.BOOKED);
+        sessionDTO.setMenteeEmail(menteeEmail);
+        sessionDTO.setMenteeName(menteeName);
+        sessionDTO.setMenteePhone(menteePhone);
+        sessionDTO.setCreatedAt(now);
+        sessionDTO.setUpdatedAt(now);
+        TrialSession session = sessionDTO.toEntity();
+        
+        // 🔒 The unique virtualSlotKey index lets exactly one booking materialize the slot
+        try {
+            mongoOperations.insert(session);
+        } catch (DuplicateKeyException e) {
+            throw new PortalException("SESSION_ALREADY_BOOKED", HttpStatus.CONFLICT);
+        }
+        
+        // 🔒 The key only covers this template slot; an overlapping template or a concurrent slot
+        // may have passed the check above too. Re-check now that our row is visible and back out
+        // on any conflict, so whichever insert came last always loses.
+        if (conflictsWithOtherSession(session, template.getBufferTimeMinutes())) {
+            mongoOperations.remove(Query.query(Criteria.where("_id").is(session.getId())), TrialSession.class);
+            throw new PortalException("SESSION_ALREADY_BOOKED", HttpStatus.CONFLICT);
+        }
+        
+        trialSessionEnricher.enrichBookedSession(session.getId(), menteeEmail);
+        return session.toDTO();
+    }
+    
+    // Same rule as getConflictingSessions, ignoring the session itself
+    private boolean conflictsWithOtherSession(TrialSession session, Integer bufferMinutes) {
+        int buffer = bufferMinutes != null ? bufferMinutes : 0;
+        int duration = session.getDurationMinutes() != null ? session.getDurationMinutes() : 0;
+        LocalDateTime start = session.getScheduledDateTime();
+        return trialSessionRepository.findConflictingSessions(session.getMentorId(), start.minusMinutes(buffer),
+                start.plusMinutes(duration + buffer))
+                .stream()
+                .anyMatch(other -> !other.getId().equals(session.getId()));
+    }
+    
+    private static String virtualSlotKey(Long templateId, LocalDateTime sessionDateTime) {
+        return templateId + ":" + sessionDateTime.toEpochSecond(ZoneOffset.UTC);
     }
 
     // Helper method to convert DTO to entity
@@ -402,6 +716,7 @@ public class TrialSessionServiceImpl implements TrialSessionService {
         entity.setRequireConfirmation(dto.getRequireConfirmation());
         entity.setIsDefault(dto.getIsDefault());
         entity.setIsActive(dto.getIsActive());
+        entity.setIsVirtual(dto.getIsVirtual());
         
         // Convert daily availabilities
         if (dto.getDailyAvailabilities() != null) {
@@ -515,24 +830,21 @@ public class TrialSessionServiceImpl implements TrialSessionService {
         mentorRepository.findById(mentorId)
                 .orElseThrow(() -> new PortalException("MENTOR_NOT_FOUND: Mentor with ID " + mentorId + " does not exist"));
         
+        LocalDateTime now = LocalDateTime.now();
         List<TrialSession> sessions = dateTimeSlots.stream()
                 .map(dateTime -> {
                     TrialSession session = new TrialSession();
-                    try {
-                        session.setId(Utilities.getNextSequence("trialSessions"));
-                    } catch (PortalException e) {
-                        throw new RuntimeException(e);
-                    }
                     session.setMentorId(mentorId);
                     session.setScheduledDateTime(dateTime);
                     session.setDurationMinutes(durationMinutes != null ? durationMinutes : 30);
                     session.setStatus(TrialSessionStatus.AVAILABLE);
                     session.setSessionType("Video Call");
-                    session.setCreatedAt(LocalDateTime.now());
-                    session.setUpdatedAt(LocalDateTime.now());
+                    session.setCreatedAt(now);
+                    session.setUpdatedAt(now);
                     return session;
                 })
                 .collect(Collectors.toList());
+        assignSequenceBlock(sessions);
         
         List<TrialSession> savedSessions = trialSessionRepository.saveAll(sessions);
         return savedSessions.stream()
@@ -543,41 +855,35 @@ public class TrialSessionServiceImpl implements TrialSessionService {
     // PUBLIC BOOKING OPERATIONS (can be done by mentees)
     @Override
     public TrialSessionDTO bookTrialSession(Long sessionId, String menteeEmail, String menteeName, String menteePhone) throws PortalException {
-        TrialSession session = trialSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new PortalException("TRIAL_SESSION_NOT_FOUND"));
+        // 🔒 Compare-and-set: only an AVAILABLE session can flip to BOOKED, so exactly one request wins
+        Query query = new Query(Criteria.where("_id").is(sessionId)
+                .and("status").is(TrialSessionStatus.AVAILABLE));
+        Update update = new Update()
+                .set("status", TrialSessionStatus.BOOKED)
+                .set("menteeEmail", menteeEmail)
+                .set("menteeName", menteeName)
+                .set("menteePhone", menteePhone)
+                .set("updatedAt", LocalDateTime.now());
+        TrialSession booked = mongoOperations.findAndModify(query, update, 
+                FindAndModifyOptions.options().returnNew(true), TrialSession.class);
         
-        if (session.getStatus() != TrialSessionStatus.AVAILABLE) {
-            throw new PortalException("SESSION_NOT_AVAILABLE: Session is not available for booking");
-        }
-        
-        // Fetch mentee's profile picture
-        String menteeProfilePicture = null;
-        try {
-            // Get user by email to get their profile ID
-            var user = userService.getUserByEmail(menteeEmail);
-            if (user != null && user.getProfileId() != null) {
-                // Get profile to fetch profile picture
-                var profile = profileService.getProfile(user.getProfileId());
-                if (profile != null) {
-                    menteeProfilePicture = profile.getPicture(); // This is already Base64 encoded
-                    // Also set the menteeId for better data integrity
-                    session.setMenteeId(user.getId());
-                }
+        if (booked == null) {
+            // Lost the race or never bookable: re-read only the status to tell which
+            Query statusQuery = new Query(Criteria.where("_id").is(sessionId));
+            statusQuery.fields().include("status");
+            TrialSession current = mongoOperations.findOne(statusQuery, TrialSession.class);
+            if (current == null) {
+                throw new PortalException("TRIAL_SESSION_NOT_FOUND");
             }
-        } catch (PortalException e) {
-            // Log the error but don't fail the booking process
-            System.out.println("Could not fetch profile picture for mentee: " + menteeEmail + ", Error: " + e.getMessage());
+            if (current.getStatus() == TrialSessionStatus.BOOKED) {
+                throw new PortalException("SESSION_ALREADY_BOOKED", HttpStatus.CONFLICT);
+            }
+            throw new PortalException("SESSION_NOT_AVAILABLE");
         }
         
-        // Update session with booking details
-        session.setStatus(TrialSessionStatus.BOOKED);
-        session.setMenteeEmail(menteeEmail);
-        session.setMenteeName(menteeName);
-        session.setMenteePhone(menteePhone);
-        session.setMenteeProfilePicture(menteeProfilePicture);
-        session.setUpdatedAt(LocalDateTime.now());
-        
-        return trialSessionRepository.save(session).toDTO();
+        // Mentee ID and profile picture are filled in off the request path
+        trialSessionEnricher.enrichBookedSession(booked.getId(), menteeEmail);
+        return booked.toDTO();
     }
     
     @Override
@@ -586,6 +892,7 @@ public class TrialSessionServiceImpl implements TrialSessionService {
                 .orElseThrow(() -> new PortalException("TRIAL_SESSION_NOT_FOUND"));
         
         session.setStatus(TrialSessionStatus.CANCELLED);
+        session.setVirtualSlotKey(null); // Frees a virtual slot to be booked again
         session.setUpdatedAt(LocalDateTime.now());
         
         return trialSessionRepository.save(session).toDTO();
@@ -634,18 +941,100 @@ public class TrialSessionServiceImpl implements TrialSessionService {
     
     @Override
     public List<TrialSessionDTO> getAvailableSessionsForDate(LocalDateTime date) {
-        // Get available sessions for the entire day
-        LocalDateTime startOfDay = date.toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
-        
-        return trialSessionRepository.findAll().stream()
-                .filter(session -> session.getStatus() == TrialSessionStatus.AVAILABLE)
-                .filter(session -> session.getScheduledDateTime().isAfter(startOfDay) && 
-                                 session.getScheduledDateTime().isBefore(endOfDay))
+        Query query = new Query(availableOnDate(date, null, null))
+                .with(Sort.by(Sort.Order.asc("scheduledDateTime"), Sort.Order.asc("_id")));
+        return mongoOperations.find(query, TrialSession.class).stream()
                 .map(TrialSession::toDTO)
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public CursorPageDTO<TrialSessionDTO> getAvailableSessionsPageForDate(LocalDateTime date, Long mentorId, 
+            String sessionType, String cursor, Integer limit) throws PortalException {
+        return keysetPage(availableOnDate(date, mentorId, sessionType), cursor, limit, TrialSession::toDTO);
+    }
+    
+    // AVAILABLE sessions for the entire day [startOfDay, nextDay), served by the
+    // (status, scheduledDateTime) or (mentorId, status, scheduledDateTime) index
+    private Criteria availableOnDate(LocalDateTime date, Long mentorId, String sessionType) {
+        LocalDateTime startOfDay = date.toLocalDate().atStartOfDay();
+        LocalDateTime nextDay = startOfDay.plusDays(1);
+        Criteria criteria = Criteria.where("status").is(TrialSessionStatus.AVAILABLE)
+                .and("scheduledDateTime").gte(startOfDay).lt(nextDay);
+        if (mentorId != null) {
+            criteria.and("mentorId").is(mentorId);
+        }
+        if (sessionType != null && !sessionType.isBlank()) {
+            criteria.and("sessionType").is(sessionType);
+        }
+        return criteria;
+    }
+    
+    /**
+     * One page of sessions ordered by (scheduledDateTime, id), continuing strictly after the cursor.
+     * When fields are given, only those are read from Mongo.
+     */
+    private <T> CursorPageDTO<T> keysetPage(Criteria criteria, String cursor, Integer limit, 
+            Function<TrialSession, T> mapper, String... fields) throws PortalException {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        
+        // Keyset: continue strictly after the last (scheduledDateTime, id) of the previous page
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after != null) {
+            criteria.orOperator(
+                Criteria.where("scheduledDateTime").gt(after.getDateTime()),
+                Criteria.where("scheduledDateTime").is(after.getDateTime()).and("_id").gt(after.getId()));
+        }
+        
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Order.asc("scheduledDateTime"), Sort.Order.asc("_id")))
+                .limit(pageSize + 1);
+        if (fields.length > 0) {
+            query.fields().include(fields);
+        }
+        List<TrialSession> sessions = mongoOperations.find(query, TrialSession.class);
+        
+        CursorPageDTO<T> page = new CursorPageDTO<>();
+        boolean hasMore = sessions.size() > pageSize;
+        if (hasMore) {
+            sessions = sessions.subList(0, pageSize);
+            TrialSession last = sessions.get(sessions.size() - 1);
+            page.setNextCursor(new KeysetCursor(last.getScheduledDateTime(), last.getId()).encode());
+        }
+        page.setHasMore(hasMore);
+        page.setItems(sessions.stream().map(mapper).collect(Collectors.toList()));
+        return page;
+    }
+    
+    // 🆕 PAGINATED SUMMARY LISTINGS (projected, keyset paginated)
+    @Override
+    public CursorPageDTO<TrialSessionSummaryDTO> getTrialSessionSummariesByMentor(Long mentorId, String cursor, 
+            Integer limit) throws PortalException {
+        return keysetPage(Criteria.where("mentorId").is(mentorId), cursor, limit, 
+            TrialSession::toSummaryDTO, TrialSession.SUMMARY_FIELDS);
+    }
+    
+    @Override
+    public CursorPageDTO<TrialSessionSummaryDTO> getTrialSessionSummariesByMentee(Long menteeId, String cursor, 
+            Integer limit) throws PortalException {
+        return keysetPage(Criteria.where("menteeId").is(menteeId), cursor, limit, 
+            TrialSession::toSummaryDTO, TrialSession.SUMMARY_FIELDS);
+    }
+    
+    @Override
+    public CursorPageDTO<TrialSessionSummaryDTO> getTrialSessionSummariesByPackage(Long packageId, String cursor, 
+            Integer limit) throws PortalException {
+        return keysetPage(Criteria.where("packageId").is(packageId), cursor, limit, 
+            TrialSession::toSummaryDTO, TrialSession.SUMMARY_FIELDS);
+    }
+    
+    @Override
+    public CursorPageDTO<TrialSessionSummaryDTO> getBookedSessionSummariesByEmail(String menteeEmail, String cursor, 
+            Integer limit) throws PortalException {
+        Criteria criteria = Criteria.where("menteeEmail").is(menteeEmail).and("status").is(TrialSessionStatus.BOOKED);
+        return keysetPage(criteria, cursor, limit, TrialSession::toSummaryDTO, TrialSession.SUMMARY_FIELDS);
+    }
+    
     @Override
     public List<TrialSessionDTO> getBookedSessionsByEmail(String menteeEmail) {
         return trialSessionRepository.findByMenteeEmailAndStatus(menteeEmail, TrialSessionStatus.BOOKED).stream()
@@ -656,34 +1045,22 @@ public class TrialSessionServiceImpl implements TrialSessionService {
     // ADMIN/UTILITY OPERATIONS
     @Override
     public List<TrialSessionDTO> findOrphanedTrialSessions() throws PortalException {
-        List<TrialSession> allSessions = trialSessionRepository.findAll();
-        return allSessions.stream()
-                .filter(session -> {
-                    try {
-                        return !mentorRepository.existsById(session.getMentorId());
-                    } catch (Exception e) {
-                        return true; // Consider it orphaned if we can't verify
-                    }
-                })
-                .map(TrialSession::toDTO)
-                .collect(Collectors.toList());
+        // Streams sessions against an in-memory set of mentor IDs; sessions without a mentor count as orphaned
+        List<TrialSessionDTO> orphanedSessions = new ArrayList<>();
+        orphanScanner.forEachOrphan(TrialSession.class, TrialSession::getMentorId, 
+            session -> orphanedSessions.add(session.toDTO()));
+        return orphanedSessions;
     }
     
     @Override
     public String cleanupOrphanedTrialSessions() throws PortalException {
-        List<TrialSessionDTO> orphanedSessions = findOrphanedTrialSessions();
+        long removed = orphanScanner.deleteOrphans(TrialSession.class, "mentorId");
         
-        if (orphanedSessions.isEmpty()) {
+        if (removed == 0) {
             return "No orphaned trial sessions found";
         }
         
-        List<Long> orphanedIds = orphanedSessions.stream()
-                .map(TrialSessionDTO::getId)
-                .collect(Collectors.toList());
-        
-        trialSessionRepository.deleteAllById(orphanedIds);
-        
-        return "Cleaned up " + orphanedSessions.size() + " orphaned trial sessions";
+        return "Cleaned up " + removed + " orphaned trial sessions";
     }
 
     // 🆕 BULK UPDATE OPERATIONS
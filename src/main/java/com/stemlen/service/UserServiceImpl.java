@@ -1,13 +1,8 @@
 package com.stemlen.service;
 
-import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -15,16 +10,13 @@ import com.stemlen.dto.AccountType;
 import com.stemlen.dto.LoginDTO;
 import com.stemlen.dto.ResponseDTO;
 import com.stemlen.dto.UserDTO;
-import com.stemlen.entity.OTP;
 import com.stemlen.entity.User;
 import com.stemlen.exception.PortalException;
-import com.stemlen.repository.OTPRepository;
+import com.stemlen.jwt.TokenRevocationList;
 import com.stemlen.repository.UserRepository;
 import com.stemlen.utility.OTPTemp;
 import com.stemlen.utility.Utilities;
 
-import jakarta.mail.internet.MimeMessage;
-
 @Service(value = "userService")
 public class UserServiceImpl implements UserService {
 
@@ -35,13 +27,16 @@ public class UserServiceImpl implements UserService {
     private ProfileService profileService;
     
     @Autowired
-    private OTPRepository otpRepository;
+    private OtpStore otpStore;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
     
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxService emailOutboxService;
+    
+    @Autowired
+    private TokenRevocationList revocationList;
 
     @Override
     public UserDTO registerUser(UserDTO userDTO) throws PortalException {
@@ -74,7 +69,8 @@ public class UserServiceImpl implements UserService {
         user.setId(Utilities.getNextSequence("users"));
 
         // Set default values for OAuth2 users
-        user.setPassword(passwordEncoder.encode("OAUTH_USER_NO_PASSWORD"));
+        // OAuth-only accounts have no password, so there is nothing to hash (password login always fails)
+        user.setPassword(null);
         user.setAccountType(AccountType.APPLICANT);
         user.setProfileId(profileService.createProfile(user.getEmail(), user.getName()));
 
@@ -100,31 +96,16 @@ public class UserServiceImpl implements UserService {
 
         String genOTP = Utilities.generateOTP();
 
-        OTP otp = new OTP(email, genOTP, LocalDateTime.now());
-        otpRepository.save(otp);
+        otpStore.save(email, genOTP);
 
-        MimeMessage mm = mailSender.createMimeMessage();
-        MimeMessageHelper message = new MimeMessageHelper(mm, true);
-        message.setTo(email);
-        message.setSubject("Your OTP Code");
-        message.setText(OTPTemp.getMessageBody(genOTP, user.getName()), true);
-
-        mailSender.send(mm);
+        // 📬 Delivered in the background by EmailOutboxWorker
+        emailOutboxService.enqueue(email, "Your OTP Code", OTPTemp.getMessageBody(genOTP, user.getName()));
         return true;
     }
 
     @Override
     public Boolean verifyOtp(String email, String otp) throws PortalException {
-        OTP storedOtp = otpRepository.findByEmail(email)
-                .orElseThrow(() -> new PortalException("OTP_NOT_FOUND"));
-
-        if (!storedOtp.getOtpCode().equals(otp)) {
-            throw new PortalException("INVALID_OTP");
-        }
-        if (storedOtp.getCreationTime().plusMinutes(10).isBefore(LocalDateTime.now())) {
-            throw new PortalException("OTP_EXPIRED");
-        }
-
+        otpStore.verify(email, otp);
         return true;
     }
 
@@ -136,18 +117,12 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(loginDTO.getPassword()));
         userRepository.save(user);
         
+        // 🔐 Tokens issued with the old password stop working
+        revocationList.revokeUser(user.getId(), user.getEmail());
+        
         return new ResponseDTO("Password changed successfully.");
     }
     
-    @Scheduled(fixedRate = 60000)
-    public void removeExpiredOTPs() {
-        LocalDateTime expiry = LocalDateTime.now().minusMinutes(10);
-        List<OTP> expiredOTPs = otpRepository.findByCreationTimeBefore(expiry);
-        if (!expiredOTPs.isEmpty()) {
-            otpRepository.deleteAll(expiredOTPs);
-        }
-    }
-
     @Override
     public UserDTO getUserByEmail(String email) throws PortalException {
         return userRepository.findByEmail(email)
@@ -0,0 +1,111 @@
+package com.stemlen.utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.stemlen.exception.ServiceOverloadedException;
+
+/**
+ * BCrypt encoder that hashes on a small dedicated pool with a bounded queue.
+ *
+ * A login or registration storm can then only occupy {@code threads} CPUs; once the queue is
+ * full further calls fail fast with {@link ServiceOverloadedException} (503) instead of tying
+ * up every Tomcat worker. {@link #upgradeEncoding(String)} reports hashes made with a lower
+ * cost than configured, so DaoAuthenticationProvider rehashes them on the next login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor pool;
+    private final long waitMillis;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long waitMillis) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.waitMillis = waitMillis;
+        int poolSize = Math.max(1, threads);
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false; // OAuth-only accounts have no password; nothing to hash
+        }
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && !encodedPassword.isEmpty() && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = pool.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("PASSWORD_HASHING_BUSY", 1L);
+        }
+        try {
+            T result = future.get(waitMillis, TimeUnit.MILLISECONDS);
+            hashes.increment();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceOverloadedException("PASSWORD_HASHING_BUSY", 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("threads", (long) pool.getMaximumPoolSize());
+        metrics.put("active", (long) pool.getActiveCount());
+        metrics.put("queued", (long) pool.getQueue().size());
+        metrics.put("hashes", hashes.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("timedOut", timedOut.sum());
+        return metrics;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
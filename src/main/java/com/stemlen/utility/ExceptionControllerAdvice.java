@@ -5,16 +5,19 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import com.stemlen.exception.PortalException;
+import com.stemlen.exception.ServiceOverloadedException;
 
 @RestControllerAdvice
 public class ExceptionControllerAdvice {
@@ -27,10 +30,34 @@ public class ExceptionControllerAdvice {
         String errorMessage = environment.getProperty(exception.getMessage(), "An unknown error occurred.");
         ErrorInfo error = new ErrorInfo(
             errorMessage,
-            HttpStatus.NOT_FOUND.value(),
+            exception.getStatus().value(),
             LocalDateTime.now()
         );
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(error, exception.getStatus());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorInfo> handleOverloaded(ServiceOverloadedException exception) {
+        String errorMessage = environment.getProperty(exception.getMessage(), "Service is busy. Please try again.");
+        ErrorInfo error = new ErrorInfo(
+            errorMessage,
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    // Multipart request over spring.servlet.multipart limits, rejected before it reaches a controller
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ErrorInfo> handleUploadTooLarge(MaxUploadSizeExceededException exception) {
+        ErrorInfo error = new ErrorInfo(
+            environment.getProperty("FILE_TOO_LARGE", "File is too large."),
+            HttpStatus.PAYLOAD_TOO_LARGE.value(),
+            LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.PAYLOAD_TOO_LARGE);
     }
 
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,180 @@
+package com.stemlen.utility;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+
+import com.stemlen.exception.PortalException;
+import com.stemlen.exception.ServiceOverloadedException;
+
+/**
+ * Decodes an uploaded image once and renders fixed-size thumbnails with plain ImageIO.
+ *
+ * The dimensions are read from the header before any pixels are decoded, so a small file that
+ * claims to be 50000x50000 is rejected without allocating the bitmap. Work runs on a small
+ * dedicated pool with a bounded queue, like {@link BoundedPasswordEncoder}: a burst of large
+ * uploads fails fast with 503 instead of occupying request threads.
+ */
+public class ImageThumbnailer implements DisposableBean {
+
+    public static final List<Integer> SIZES = List.of(64, 256);
+
+    private final long maxPixels;
+    private final ThreadPoolExecutor pool;
+    private final long waitMillis;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public ImageThumbnailer(long maxPixels, int threads, int queueCapacity, long waitMillis) {
+        this.maxPixels = maxPixels;
+        this.waitMillis = waitMillis;
+        int poolSize = Math.max(1, threads);
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "image-thumbnail");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @return encoded thumbnail per size in {@link #SIZES}; images are never scaled up
+     * @throws PortalException INVALID_IMAGE if the bytes are not a readable image,
+     *         IMAGE_TOO_LARGE if it has more than the configured number of pixels
+     */
+    public Map<Integer, byte[]> thumbnails(byte[] image) throws PortalException {
+        return thumbnails(new ByteArrayInputStream(image));
+    }
+
+    /**
+     * Same as {@link #thumbnails(byte[])} for a stored file; only the decoded bitmap (bounded by
+     * the pixel limit) is held in memory, not the encoded file.
+     */
+    public Map<Integer, byte[]> thumbnails(InputStream image) throws PortalException {
+        return run(() -> render(decode(image)));
+    }
+
+    private BufferedImage decode(InputStream image) throws IOException, PortalException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new PortalException("INVALID_IMAGE", HttpStatus.BAD_REQUEST);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new PortalException("IMAGE_TOO_LARGE", HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static Map<Integer, byte[]> render(BufferedImage source) throws IOException {
+        boolean alpha = source.getColorModel().hasAlpha();
+        Map<Integer, byte[]> thumbnails = new LinkedHashMap<>();
+        for (int size : SIZES) {
+            // Fit the longest side into size, keeping the aspect ratio
+            double scale = Math.min(1d, (double) size / Math.max(source.getWidth(), source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+            BufferedImage thumbnail = new BufferedImage(width, height,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = thumbnail.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(source, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(thumbnail, alpha ? "png" : "jpg", out);
+            thumbnails.put(size, out.toByteArray());
+        }
+        return thumbnails;
+    }
+
+    private <T> T run(Callable<T> task) throws PortalException {
+        Future<T> future;
+        try {
+            future = pool.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("IMAGE_PROCESSING_BUSY", 2L);
+        }
+        try {
+            T result = future.get(waitMillis, TimeUnit.MILLISECONDS);
+            processed.increment();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceOverloadedException("IMAGE_PROCESSING_BUSY", 5L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing image", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PortalException portal) {
+                invalid.increment();
+                throw portal;
+            }
+            if (e.getCause() instanceof IOException || e.getCause() instanceof IllegalArgumentException) {
+                invalid.increment();
+                throw new PortalException("INVALID_IMAGE", HttpStatus.BAD_REQUEST);
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("threads", (long) pool.getMaximumPoolSize());
+        metrics.put("active", (long) pool.getActiveCount());
+        metrics.put("queued", (long) pool.getQueue().size());
+        metrics.put("processed", processed.sum());
+        metrics.put("invalid", invalid.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("timedOut", timedOut.sum());
+        return metrics;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
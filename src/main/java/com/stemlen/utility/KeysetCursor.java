@@ -0,0 +1,58 @@
+package com.stemlen.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import com.stemlen.exception.PortalException;
+
+/**
+ * Opaque keyset pagination cursor over a (dateTime, id) sort key.
+ *
+ * The cursor is the last row of the previous page encoded as Base64 "epochMillis:id", so the
+ * next page is fetched with a range condition on the index instead of skipping rows.
+ */
+public class KeysetCursor {
+
+    private final LocalDateTime dateTime;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime dateTime, Long id) {
+        this.dateTime = dateTime;
+        this.id = id;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null when no cursor was supplied
+     * @throws PortalException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) throws PortalException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long epochMillis = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new KeysetCursor(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new PortalException("INVALID_CURSOR");
+        }
+    }
+}
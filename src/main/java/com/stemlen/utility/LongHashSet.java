@@ -0,0 +1,98 @@
+package com.stemlen.utility;
+
+/**
+ * Minimal open-addressing hash set of primitive longs (linear probing, no boxing).
+ * Roughly 16 bytes per entry instead of ~50 for a HashSet&lt;Long&gt;. Not thread-safe.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] slots;
+    private int size;
+    private boolean containsEmptyMarker;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        slots = newSlots(capacity);
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            boolean added = !containsEmptyMarker;
+            containsEmptyMarker = true;
+            if (added) {
+                size++;
+            }
+            return added;
+        }
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length << 1);
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmptyMarker;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        slots = newSlots(capacity);
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = mix(value) & mask;
+                while (slots[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = value;
+            }
+        }
+    }
+
+    private static long[] newSlots(int capacity) {
+        long[] slots = new long[capacity];
+        java.util.Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    // Spreads sequential IDs across the table (MurmurHash3 finalizer)
+    private static int mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+}
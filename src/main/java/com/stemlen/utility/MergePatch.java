@@ -0,0 +1,56 @@
+package com.stemlen.utility;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stemlen.exception.PortalException;
+
+/**
+ * Turns a JSON Merge Patch (RFC 7396) body into a Mongo update touching only the sent paths:
+ * a value is $set (lists are replaced as a whole), null is $unset. Only whitelisted top-level
+ * fields may be patched; each value is converted to the entity field's type first, so a wrong
+ * type is a 400 rather than a corrupt document.
+ */
+public final class MergePatch {
+
+    private MergePatch() {
+    }
+
+    /**
+     * @param patch parsed JSON body
+     * @param entity document class whose field types the values are converted to
+     * @param allowed fields a client may change
+     * @param handledElsewhere keys the caller applies itself (e.g. Base64 images); skipped here
+     */
+    public static Update toUpdate(Map<String, Object> patch, Class<?> entity, Set<String> allowed,
+            Set<String> handledElsewhere, ObjectMapper objectMapper) throws PortalException {
+        Update update = new Update();
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            String name = entry.getKey();
+            if (handledElsewhere.contains(name)) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new PortalException("INVALID_PATCH_FIELD", HttpStatus.BAD_REQUEST);
+            }
+            if (entry.getValue() == null) {
+                update.unset(name);
+                continue;
+            }
+            try {
+                Field field = entity.getDeclaredField(name);
+                JavaType type = objectMapper.getTypeFactory().constructType(field.getGenericType());
+                update.set(name, objectMapper.convertValue(entry.getValue(), type));
+            } catch (NoSuchFieldException | IllegalArgumentException e) {
+                throw new PortalException("INVALID_PATCH_FIELD", HttpStatus.BAD_REQUEST);
+            }
+        }
+        return update;
+    }
+}
@@ -0,0 +1,157 @@
+package com.stemlen.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.entity.Mentor;
+
+/**
+ * Integrity engine for documents that reference a mentor by ID.
+ *
+ * Mentor IDs are loaded once into a primitive {@link LongHashSet}, then child documents are
+ * streamed through a cursor and checked in memory, so a scan is two collection passes instead
+ * of one existsById per row, and only the orphans found are ever held. Fixes are applied with
+ * bulk writes in batches; each batch re-checks its parent IDs first so a mentor created during
+ * the scan does not lose its children.
+ */
+@Component
+public class OrphanScanner {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoOperations mongoOperations;
+
+    /**
+     * Streams every child and hands the ones whose mentor is missing (or null) to the consumer.
+     *
+     * @return number of orphans found
+     */
+    public <T> long forEachOrphan(Class<T> childType, Function<T, Long> mentorIdOf, Consumer<T> onOrphan) {
+        LongHashSet mentorIds = loadMentorIds();
+        long found = 0;
+        try (Stream<T> children = mongoOperations.stream(new Query(), childType)) {
+            for (T child : (Iterable<T>) children::iterator) {
+                Long mentorId = mentorIdOf.apply(child);
+                if (mentorId == null || !mentorIds.contains(mentorId)) {
+                    onOrphan.accept(child);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Deletes children whose mentor is missing, in bulk batches.
+     *
+     * @return number of documents deleted
+     */
+    public long deleteOrphans(Class<?> childType, String mentorField) {
+        return fixOrphans(childType, mentorField, (bulk, ids) -> bulk.remove(idsQuery(ids)));
+    }
+
+    /**
+     * Applies the update to children whose mentor is missing, in bulk batches.
+     *
+     * @return number of documents matched
+     */
+    public long updateOrphans(Class<?> childType, String mentorField, Update update) {
+        return fixOrphans(childType, mentorField, (bulk, ids) -> bulk.updateMulti(idsQuery(ids), update));
+    }
+
+    private long fixOrphans(Class<?> childType, String mentorField, BatchFix fix) {
+        String collection = mongoOperations.getCollectionName(childType);
+        LongHashSet mentorIds = loadMentorIds();
+        Query query = new Query();
+        query.fields().include(mentorField);
+
+        long fixed = 0;
+        List<Object> childIds = new ArrayList<>(BATCH_SIZE);
+        List<Long> parentIds = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Document> children = mongoOperations.stream(query, Document.class, collection)) {
+            for (Document child : (Iterable<Document>) children::iterator) {
+                Long mentorId = child.get(mentorField) instanceof Number number ? number.longValue() : null;
+                if (mentorId == null || !mentorIds.contains(mentorId)) {
+                    childIds.add(child.get("_id"));
+                    parentIds.add(mentorId);
+                    if (childIds.size() == BATCH_SIZE) {
+                        fixed += flush(collection, childIds, parentIds, fix);
+                    }
+                }
+            }
+        }
+        if (!childIds.isEmpty()) {
+            fixed += flush(collection, childIds, parentIds, fix);
+        }
+        return fixed;
+    }
+
+    private long flush(String collection, List<Object> childIds, List<Long> parentIds, BatchFix fix) {
+        // Re-check the batch's parents in one query; skip children whose mentor appeared meanwhile
+        List<Long> referenced = parentIds.stream().filter(id -> id != null).distinct().toList();
+        LongHashSet nowPresent = new LongHashSet(referenced.size());
+        if (!referenced.isEmpty()) {
+            Query present = new Query(Criteria.where("_id").in(referenced));
+            present.fields().include("_id");
+            mongoOperations.find(present, Document.class, mongoOperations.getCollectionName(Mentor.class))
+                    .forEach(mentor -> nowPresent.add(((Number) mentor.get("_id")).longValue()));
+        }
+
+        List<Object> orphanIds = new ArrayList<>(childIds.size());
+        for (int i = 0; i < childIds.size(); i++) {
+            Long mentorId = parentIds.get(i);
+            if (mentorId == null || !nowPresent.contains(mentorId)) {
+                orphanIds.add(childIds.get(i));
+            }
+        }
+        childIds.clear();
+        parentIds.clear();
+        if (orphanIds.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, collection);
+        fix.apply(bulk, orphanIds);
+        bulk.execute();
+        return orphanIds.size();
+    }
+
+    private LongHashSet loadMentorIds() {
+        String collection = mongoOperations.getCollectionName(Mentor.class);
+        LongHashSet mentorIds = new LongHashSet((int) Math.min(Integer.MAX_VALUE / 4,
+                mongoOperations.estimatedCount(collection)));
+        Query query = new Query();
+        query.fields().include("_id");
+        try (Stream<Document> mentors = mongoOperations.stream(query, Document.class, collection)) {
+            mentors.forEach(mentor -> {
+                if (mentor.get("_id") instanceof Number id) {
+                    mentorIds.add(id.longValue());
+                }
+            });
+        }
+        return mentorIds;
+    }
+
+    private static Query idsQuery(List<Object> ids) {
+        return new Query(Criteria.where("_id").in(ids));
+    }
+
+    @FunctionalInterface
+    private interface BatchFix {
+        void apply(BulkOperations bulk, List<Object> ids);
+    }
+}
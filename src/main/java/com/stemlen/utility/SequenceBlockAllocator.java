@@ -0,0 +1,157 @@
+package com.stemlen.utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.stemlen.exception.PortalException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hi/lo ID allocator sitting behind {@link Utilities#getNextSequence(String)}.
+ *
+ * Each node reserves a block of IDs per key with one {@code $inc} on the shared sequence
+ * document and hands them out from an {@link AtomicLong} without locking. When a block runs
+ * low, the next one is reserved in the background so callers rarely wait on Mongo.
+ *
+ * Because every block comes from the same counter, IDs stay unique across app instances.
+ * They are no longer strictly increasing across nodes, and IDs left in a block when a node
+ * stops are never issued.
+ */
+@Component
+public class SequenceBlockAllocator {
+
+    private final int blockSize;
+    private final int lowWatermark;
+    private final Map<String, KeyState> states = new ConcurrentHashMap<>();
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sequence-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SequenceBlockAllocator(@Value("${stemlen.sequence.block-size:100}") int blockSize) {
+        this.blockSize = Math.max(1, blockSize);
+        this.lowWatermark = Math.max(1, this.blockSize / 5);
+    }
+
+    /**
+     * Returns the next ID for the key, reserving a new block only when the current one is used up.
+     */
+    public Long next(String key) throws PortalException {
+        KeyState state = states.computeIfAbsent(key, k -> new KeyState());
+        while (true) {
+            Block block = state.current;
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                state.issued.increment();
+                if (block.end - id <= lowWatermark) {
+                    prefetch(key, state);
+                }
+                return id;
+            }
+            refill(key, state, block);
+        }
+    }
+
+    // Swaps in the prefetched block, or reserves one synchronously if the prefetch has not landed
+    private void refill(String key, KeyState state, Block exhausted) throws PortalException {
+        synchronized (state) {
+            if (state.current != exhausted) {
+                return; // another thread already refilled
+            }
+            if (state.prefetched != null) {
+                state.current = state.prefetched;
+                state.prefetched = null;
+            } else {
+                state.current = reserve(key, state);
+                state.synchronousRefills.increment();
+            }
+        }
+    }
+
+    private void prefetch(String key, KeyState state) {
+        if (state.prefetched != null || !state.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            prefetcher.execute(() -> {
+                try {
+                    Block block = reserve(key, state);
+                    synchronized (state) {
+                        if (state.prefetched == null) {
+                            state.prefetched = block;
+                        }
+                    }
+                } catch (Exception e) {
+                    System.err.println("❌ Failed to prefetch sequence block for key '" + key + "': " + e.getMessage());
+                } finally {
+                    state.refilling.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor is shutting down; the next exhaustion falls back to a synchronous refill
+            state.refilling.set(false);
+        }
+    }
+
+    private Block reserve(String key, KeyState state) throws PortalException {
+        long first = Utilities.reserveSequenceBlock(key, blockSize);
+        state.blocksReserved.increment();
+        return new Block(first, first + blockSize);
+    }
+
+    /**
+     * Per-key allocation metrics for monitoring.
+     */
+    public Map<String, Map<String, Long>> getMetrics() {
+        Map<String, Map<String, Long>> metrics = new LinkedHashMap<>();
+        states.forEach((key, state) -> {
+            Block block = state.current;
+            Block prefetched = state.prefetched;
+            Map<String, Long> keyMetrics = new LinkedHashMap<>();
+            keyMetrics.put("blockSize", (long) blockSize);
+            keyMetrics.put("idsIssued", state.issued.sum());
+            keyMetrics.put("blocksReserved", state.blocksReserved.sum());
+            keyMetrics.put("synchronousRefills", state.synchronousRefills.sum());
+            keyMetrics.put("remainingInBlock", Math.max(0L, block.end - block.next.get()));
+            keyMetrics.put("prefetchedIds", prefetched != null ? (long) blockSize : 0L);
+            metrics.put(key, keyMetrics);
+        });
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetcher.shutdownNow();
+    }
+
+    // IDs in [next, end) are still available
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+
+    private static final class KeyState {
+        private volatile Block current = new Block(0L, 0L);
+        private volatile Block prefetched;
+        private final AtomicBoolean refilling = new AtomicBoolean(false);
+        private final LongAdder issued = new LongAdder();
+        private final LongAdder blocksReserved = new LongAdder();
+        private final LongAdder synchronousRefills = new LongAdder();
+    }
+}
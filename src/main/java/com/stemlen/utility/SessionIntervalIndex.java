@@ -0,0 +1,57 @@
+package com.stemlen.utility;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.TreeSet;
+
+/**
+ * In-memory index over a single mentor's session start times.
+ *
+ * It applies the same rule as TrialSessionService.getConflictingSessions: a new session at S
+ * conflicts when an existing session starts within [S - buffer, S + duration + buffer]. The starts
+ * are kept sorted, so a conflict check is a single ceiling lookup (O(log n)). The buffer is fixed
+ * per index, matching how bulk operations apply one buffer to every generated slot.
+ *
+ * The index is not thread-safe; it is meant to live for the duration of one bulk operation.
+ */
+public class SessionIntervalIndex {
+
+    // Session start times, epoch seconds
+    private final TreeSet<Long> starts = new TreeSet<>();
+    private final long bufferSeconds;
+
+    public SessionIntervalIndex(Integer bufferMinutes) {
+        this.bufferSeconds = minutesToSeconds(bufferMinutes);
+    }
+
+    /**
+     * Records a session starting at {@code start}.
+     */
+    public void add(LocalDateTime start) {
+        starts.add(toEpoch(start));
+    }
+
+    /**
+     * Returns true if an indexed session starts within the buffered window of a session of the
+     * given duration starting at {@code start}.
+     */
+    public boolean conflicts(LocalDateTime start, Integer durationMinutes) {
+        long from = toEpoch(start) - bufferSeconds;
+        long to = toEpoch(start) + minutesToSeconds(durationMinutes) + bufferSeconds;
+
+        Long first = starts.ceiling(from);
+        return first != null && first <= to;
+    }
+
+    public int size() {
+        return starts.size();
+    }
+
+    private static long toEpoch(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long minutesToSeconds(Integer minutes) {
+        return minutes != null ? minutes * 60L : 0L;
+    }
+}
@@ -0,0 +1,131 @@
+package com.stemlen.utility;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Pass-through stream for uploads: enforces a size limit, computes the SHA-256 of what was
+ * read and exposes the first bytes for content-type sniffing, without buffering the file.
+ * Hand it to GridFS and read {@link #sha256Hex()} / {@link #size()} once it is consumed.
+ */
+public class UploadStream extends FilterInputStream {
+
+    public static final int HEADER_BYTES = 16;
+
+    private final long maxBytes;
+    private final MessageDigest digest;
+    private final byte[] header;
+    private long size;
+
+    public UploadStream(InputStream in, long maxBytes) throws IOException {
+        super(new BufferedInputStream(in));
+        this.maxBytes = maxBytes;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        this.in.mark(HEADER_BYTES);
+        this.header = this.in.readNBytes(HEADER_BYTES);
+        this.in.reset();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count(1);
+            digest.update((byte) b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+            digest.update(b, off, n);
+        }
+        return n;
+    }
+
+    // Skipped bytes still have to be counted and hashed
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void count(int n) throws TooLargeException {
+        size += n;
+        if (size > maxBytes) {
+            throw new TooLargeException(maxBytes);
+        }
+    }
+
+    /**
+     * @return up to {@link #HEADER_BYTES} leading bytes, available before anything is read
+     */
+    public byte[] header() {
+        return header.clone();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Only meaningful once the stream has been read to the end
+    public String sha256Hex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return true if the exception (or one of its causes) is a size-limit violation; storage
+     *         clients like GridFS wrap the IOException thrown from read()
+     */
+    public static boolean isTooLarge(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TooLargeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static class TooLargeException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        public TooLargeException(long maxBytes) {
+            super("Upload exceeds " + maxBytes + " bytes");
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.stemlen.utility;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.HexFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
@@ -15,20 +19,31 @@ import com.stemlen.exception.PortalException;
 public class Utilities {
 
     private static MongoOperations mongoOperation;
+    private static SequenceBlockAllocator sequenceAllocator;
 
     @Autowired
     public void setMongoOperation(MongoOperations mongoOperation) {
         Utilities.mongoOperation = mongoOperation;
     }
 
+    @Autowired
+    public void setSequenceAllocator(SequenceBlockAllocator sequenceAllocator) {
+        Utilities.sequenceAllocator = sequenceAllocator;
+    }
+
     /**
-     * Gets the next sequence number for a given key using MongoDB.
+     * Gets the next sequence number for a given key.
+     * IDs are handed out from a block reserved by this node (see {@link SequenceBlockAllocator}),
+     * so they are unique across instances but not strictly increasing between them.
      *
      * @param key the sequence key (e.g., "users")
      * @return the next sequence number
      * @throws PortalException if the sequence cannot be generated
      */
     public static Long getNextSequence(String key) throws PortalException {
+        if (sequenceAllocator != null) {
+            return sequenceAllocator.next(key);
+        }
         Query query = new Query(Criteria.where("_id").is(key));
 
         // Increment sequence with upsert to create if doesn't exist
@@ -46,6 +61,59 @@ public class Utilities {
         return seq.getSeq();
     }
 
+    /**
+     * Reserves a contiguous block of sequence numbers with a single increment.
+     *
+     * @param key the sequence key (e.g., "trialSessions")
+     * @param count how many numbers to reserve
+     * @return the first number of the block; the block is [first, first + count - 1]
+     * @throws PortalException if the block cannot be reserved
+     */
+    public static Long reserveSequenceBlock(String key, int count) throws PortalException {
+        if (count <= 0) {
+            throw new PortalException("Sequence block size must be positive for key: " + key);
+        }
+        Query query = new Query(Criteria.where("_id").is(key));
+        Update update = new Update().inc("seq", count);
+        FindAndModifyOptions options = FindAndModifyOptions.options()
+                .returnNew(true)
+                .upsert(true);
+
+        Sequence seq = mongoOperation.findAndModify(query, update, options, Sequence.class);
+
+        if (seq == null) {
+            throw new PortalException("Unable to reserve sequence block for key: " + key);
+        }
+
+        return seq.getSeq() - count + 1;
+    }
+
+    /**
+     * Hex-encoded SHA-256 of the given bytes, used as a content hash for images.
+     *
+     * @param content the bytes to hash
+     * @return the lowercase hex digest
+     */
+    public static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Compares two secrets in time independent of where they differ.
+     *
+     * @return true if both are non-null and equal
+     */
+    public static boolean constantTimeEquals(String expected, String actual) {
+        if (expected == null || actual == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Generates a 6-digit OTP.
      *
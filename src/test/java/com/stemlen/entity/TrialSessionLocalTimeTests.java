@@ -0,0 +1,24 @@
+package com.stemlen.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class TrialSessionLocalTimeTests {
+
+	@Test
+	void localFieldsAreTheSessionWallClockInANonUtcZone() {
+		TrialSession session = new TrialSession();
+		session.setTimeZone("Asia/Kolkata");
+		// Sunday 23:30 in Kolkata; converting from UTC would wrongly land on Monday 05:00
+		session.setScheduledDateTime(LocalDateTime.of(2026, 3, 1, 23, 30));
+
+		session.applyLocalTimeFields();
+
+		assertEquals(23, session.getLocalHour());
+		assertEquals(7, session.getLocalDayOfWeek());
+		assertEquals("2026-03-01", session.getLocalDate());
+	}
+}
@@ -0,0 +1,236 @@
+package com.stemlen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.stemlen.dto.EmailOutboxStatus;
+import com.stemlen.entity.EmailOutboxMessage;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ EmailOutboxWorker.class, EmailOutboxServiceImpl.class })
+@TestPropertySource(properties = {
+		"stemlen.mail.outbox.workers=1",
+		"stemlen.mail.outbox.batch-size=5",
+		"stemlen.mail.outbox.max-attempts=3",
+		"stemlen.mail.outbox.backoff-seconds=30",
+		// Drains are driven by the tests, not the scheduler
+		"stemlen.mail.outbox.poll-ms=3600000" })
+class EmailOutboxWorkerTests {
+
+	private static final String BOUNCE = "bounce@example.com";
+
+	@Container
+	@ServiceConnection
+	static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+	@Autowired
+	private EmailOutboxService emailOutboxService;
+
+	@Autowired
+	private EmailOutboxWorker worker;
+
+	@Autowired
+	private MongoOperations mongoOperations;
+
+	@Autowired
+	private StubMailSender mailSender;
+
+	@BeforeEach
+	void reset() {
+		awaitIdle();
+		mongoOperations.remove(new Query(), EmailOutboxMessage.class);
+		mailSender.batches.clear();
+		mailSender.duringSend = null;
+	}
+
+	@Test
+	void pendingMessagesGoOutInBatchesOfOneSendCall() {
+		for (int i = 0; i < 12; i++) {
+			emailOutboxService.enqueue("user" + i + "@example.com", "Subject " + i, "<p>" + i + "</p>");
+		}
+
+		for (int i = 0; i < 3; i++) {
+			worker.drain();
+			awaitIdle();
+		}
+
+		assertEquals(List.of(5, 5, 2), mailSender.batches);
+		assertEquals(12, count(EmailOutboxStatus.SENT));
+		EmailOutboxMessage sent = mongoOperations.findOne(new Query(), EmailOutboxMessage.class);
+		assertEquals(1, sent.getAttempts());
+		assertNotNull(sent.getSentAt());
+	}
+
+	@Test
+	void failedMessageIsRescheduledWithBackoff() {
+		emailOutboxService.enqueue("ok@example.com", "Hi", "<p>ok</p>");
+		emailOutboxService.enqueue(BOUNCE, "Hi", "<p>bounce</p>");
+		LocalDateTime before = LocalDateTime.now();
+
+		worker.drain();
+		awaitIdle();
+
+		assertEquals(List.of(2), mailSender.batches);
+		assertEquals(1, count(EmailOutboxStatus.SENT));
+		EmailOutboxMessage failed = byRecipient(BOUNCE);
+		assertEquals(EmailOutboxStatus.PENDING, failed.getStatus());
+		assertEquals(1, failed.getAttempts());
+		assertNotNull(failed.getLastError());
+		assertTrue(!failed.getNextAttemptAt().isBefore(before.plusSeconds(30)), "retry must wait for the backoff");
+
+		// Not due yet, so the next poll leaves it alone
+		worker.drain();
+		awaitIdle();
+		assertEquals(List.of(2), mailSender.batches);
+	}
+
+	@Test
+	void messageIsDeadLetteredAfterMaxAttempts() {
+		emailOutboxService.enqueue(BOUNCE, "Hi", "<p>bounce</p>");
+
+		for (int attempt = 1; attempt <= 3; attempt++) {
+			makeDue(BOUNCE);
+			worker.drain();
+			awaitIdle();
+		}
+
+		EmailOutboxMessage dead = byRecipient(BOUNCE);
+		assertEquals(EmailOutboxStatus.DEAD, dead.getStatus());
+		assertEquals(3, dead.getAttempts());
+		assertEquals(3, mailSender.batches.size());
+
+		makeDue(BOUNCE);
+		worker.drain();
+		awaitIdle();
+		assertEquals(3, mailSender.batches.size());
+	}
+
+	@Test
+	void claimedMessageIsOnlyReclaimedOnceItsLeaseExpires() {
+		LocalDateTime now = LocalDateTime.now();
+		mongoOperations.insert(new EmailOutboxMessage(null, "leased@example.com", "Hi", "<p>leased</p>",
+				EmailOutboxStatus.SENDING, 1, now.minusMinutes(1), now.plusMinutes(1), null, now.minusMinutes(1), null));
+
+		worker.drain();
+		awaitIdle();
+		assertTrue(mailSender.batches.isEmpty(), "a live lease must not be claimed again");
+
+		mongoOperations.updateFirst(Query.query(Criteria.where("to").is("leased@example.com")),
+				new Update().set("lockedUntil", now.minusSeconds(1)), EmailOutboxMessage.class);
+		worker.drain();
+		awaitIdle();
+
+		EmailOutboxMessage reclaimed = byRecipient("leased@example.com");
+		assertEquals(List.of(1), mailSender.batches);
+		assertEquals(EmailOutboxStatus.SENT, reclaimed.getStatus());
+		assertEquals(2, reclaimed.getAttempts());
+	}
+
+	@Test
+	void lateResultOfAnExpiredClaimIsDropped() {
+		emailOutboxService.enqueue(BOUNCE, "Hi", "<p>bounce</p>");
+		// While this send is in flight its lease runs out and another worker re-claims and delivers it
+		mailSender.duringSend = () -> mongoOperations.updateFirst(Query.query(Criteria.where("to").is(BOUNCE)),
+				new Update().set("status", EmailOutboxStatus.SENT).inc("attempts", 1), EmailOutboxMessage.class);
+
+		worker.drain();
+		awaitIdle();
+
+		EmailOutboxMessage message = byRecipient(BOUNCE);
+		assertEquals(EmailOutboxStatus.SENT, message.getStatus());
+		assertEquals(2, message.getAttempts());
+	}
+
+	private void makeDue(String to) {
+		mongoOperations.updateFirst(Query.query(Criteria.where("to").is(to)),
+				new Update().set("nextAttemptAt", LocalDateTime.now().minusSeconds(1)), EmailOutboxMessage.class);
+	}
+
+	private EmailOutboxMessage byRecipient(String to) {
+		return mongoOperations.findOne(Query.query(Criteria.where("to").is(to)), EmailOutboxMessage.class);
+	}
+
+	private long count(EmailOutboxStatus status) {
+		return mongoOperations.count(Query.query(Criteria.where("status").is(status)), EmailOutboxMessage.class);
+	}
+
+	private void awaitIdle() {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (((Number) worker.getMetrics().get("batchesInFlight")).intValue() > 0) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("email outbox batch did not finish");
+			}
+			Thread.onSpinWait();
+		}
+	}
+
+	@TestConfiguration
+	static class MailConfig {
+
+		@Bean
+		StubMailSender mailSender() {
+			return new StubMailSender();
+		}
+	}
+
+	// Records each batch instead of talking SMTP; BOUNCE is always rejected
+	static class StubMailSender extends JavaMailSenderImpl {
+
+		final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+		volatile Runnable duringSend;
+
+		@Override
+		protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+			batches.add(mimeMessages.length);
+			if (duringSend != null) {
+				duringSend.run();
+			}
+			Map<Object, Exception> failed = new IdentityHashMap<>();
+			for (MimeMessage mime : mimeMessages) {
+				try {
+					if (BOUNCE.equals(mime.getAllRecipients()[0].toString())) {
+						failed.put(mime, new MessagingException("550 mailbox unavailable"));
+					}
+				} catch (MessagingException e) {
+					failed.put(mime, e);
+				}
+			}
+			if (!failed.isEmpty()) {
+				throw new MailSendException(failed);
+			}
+		}
+	}
+}
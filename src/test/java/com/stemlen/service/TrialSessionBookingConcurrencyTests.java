@@ -0,0 +1,92 @@
+package com.stemlen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.stemlen.dto.TrialSessionStatus;
+import com.stemlen.entity.TrialSession;
+import com.stemlen.exception.PortalException;
+import com.stemlen.repository.TrialSessionRepository;
+import com.stemlen.utility.OrphanScanner;
+
+@DataMongoTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ TrialSessionServiceImpl.class, OrphanScanner.class })
+class TrialSessionBookingConcurrencyTests {
+
+	private static final int BOOKINGS = 2000;
+
+	@Container
+	@ServiceConnection
+	static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+	@Autowired
+	private TrialSessionService trialSessionService;
+
+	@Autowired
+	private TrialSessionRepository trialSessionRepository;
+
+	@MockitoBean
+	private TrialSessionEnricher trialSessionEnricher;
+
+	@Test
+	void onlyOneOfManyParallelBookingsWins() throws Exception {
+		TrialSession slot = new TrialSession();
+		slot.setId(1L);
+		slot.setMentorId(1L);
+		slot.setScheduledDateTime(LocalDateTime.now().plusDays(1));
+		slot.setDurationMinutes(30);
+		slot.setStatus(TrialSessionStatus.AVAILABLE);
+		trialSessionRepository.save(slot);
+
+		AtomicInteger booked = new AtomicInteger();
+		AtomicInteger conflicts = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(64);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < BOOKINGS; i++) {
+			String email = "mentee" + i + "@example.com";
+			futures.add(pool.submit(() -> {
+				start.await();
+				try {
+					trialSessionService.bookTrialSession(1L, email, "Mentee", null);
+					booked.incrementAndGet();
+				} catch (PortalException e) {
+					if (e.getStatus() == HttpStatus.CONFLICT) {
+						conflicts.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		pool.shutdown();
+
+		assertEquals(1, booked.get());
+		assertEquals(BOOKINGS - 1, conflicts.get());
+		TrialSession stored = trialSessionRepository.findById(1L).orElseThrow();
+		assertEquals(TrialSessionStatus.BOOKED, stored.getStatus());
+	}
+}
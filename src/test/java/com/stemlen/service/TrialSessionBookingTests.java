@@ -0,0 +1,89 @@
+package com.stemlen.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+
+import com.stemlen.dto.TrialSessionStatus;
+import com.stemlen.entity.TrialSession;
+import com.stemlen.exception.PortalException;
+
+@ExtendWith(MockitoExtension.class)
+class TrialSessionBookingTests {
+
+	@Mock
+	private MongoOperations mongoOperations;
+
+	@Mock
+	private TrialSessionEnricher trialSessionEnricher;
+
+	@InjectMocks
+	private TrialSessionServiceImpl trialSessionService;
+
+	@Test
+	void availableSessionIsBooked() throws Exception {
+		TrialSession booked = session(TrialSessionStatus.BOOKED);
+		when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+				eq(TrialSession.class))).thenReturn(booked);
+
+		assertEquals(TrialSessionStatus.BOOKED,
+				trialSessionService.bookTrialSession(1L, "mentee@example.com", "Mentee", null).getStatus());
+		verify(trialSessionEnricher).enrichBookedSession(1L, "mentee@example.com");
+	}
+
+	@Test
+	void alreadyBookedSessionIsAConflict() {
+		PortalException e = missWith(session(TrialSessionStatus.BOOKED));
+		assertEquals("SESSION_ALREADY_BOOKED", e.getMessage());
+		assertEquals(HttpStatus.CONFLICT, e.getStatus());
+	}
+
+	@Test
+	void cancelledSessionIsNotAvailable() {
+		assertEquals("SESSION_NOT_AVAILABLE", missWith(session(TrialSessionStatus.CANCELLED)).getMessage());
+	}
+
+	@Test
+	void completedSessionIsNotAvailable() {
+		assertEquals("SESSION_NOT_AVAILABLE", missWith(session(TrialSessionStatus.COMPLETED)).getMessage());
+	}
+
+	@Test
+	void unknownSessionIsNotFound() {
+		PortalException e = missWith(null);
+		assertEquals("TRIAL_SESSION_NOT_FOUND", e.getMessage());
+		assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+	}
+
+	// The conditional update matched nothing; the status re-read returns `current`
+	private PortalException missWith(TrialSession current) {
+		when(mongoOperations.findOne(any(Query.class), eq(TrialSession.class))).thenReturn(current);
+		PortalException e = assertThrows(PortalException.class,
+				() -> trialSessionService.bookTrialSession(1L, "mentee@example.com", "Mentee", null));
+		verify(trialSessionEnricher, never()).enrichBookedSession(any(), any());
+		return e;
+	}
+
+	private static TrialSession session(TrialSessionStatus status) {
+		TrialSession session = new TrialSession();
+		session.setId(1L);
+		session.setMentorId(1L);
+		session.setStatus(status);
+		return session;
+	}
+}